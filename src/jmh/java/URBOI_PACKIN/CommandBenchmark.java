@@ -0,0 +1,138 @@
+package URBOI_PACKIN;
+
+import URBOI_PACKIN.Storage.TaskFileGenerator;
+import URBOI_PACKIN.Storage.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every command through ResponseController.getResponse, from parsing the line to building the reply.
+ * Saving is turned off so only the command itself is measured; StorageBenchmark covers the disk.
+ *
+ * Commands that add tasks make the list grow, so it is reloaded from the file before every iteration.
+ * delete is measured together with a todo that puts a task back, so the list keeps its size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CommandBenchmark {
+    @Param({"1000", "100000"})
+    public int taskCount;
+
+    private File file;
+    private TaskRepository tasks;
+    private ResponseController controller;
+    private int nextId;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("bench-commands-", ".txt");
+        TaskFileGenerator.write(file.getPath(), taskCount, TaskFileGenerator.DEFAULT_SEED);
+        tasks = new TaskRepository(file.getPath());
+        controller = new ResponseController(tasks);
+        controller.setAutoSave(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void reload() {
+        tasks.load();
+        nextId = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public String list() {
+        return controller.getResponse("list");
+    }
+
+    @Benchmark
+    public String listDone() {
+        return controller.getResponse("list done");
+    }
+
+    @Benchmark
+    public String find() {
+        return controller.getResponse("find report");
+    }
+
+    @Benchmark
+    public String due() {
+        return controller.getResponse("due 5/3/2024");
+    }
+
+    @Benchmark
+    public String between() {
+        return controller.getResponse("between 1/3/2024 8/3/2024");
+    }
+
+    @Benchmark
+    public String overdue() {
+        return controller.getResponse("overdue");
+    }
+
+    @Benchmark
+    public String todo() {
+        return controller.getResponse("todo write weekly report");
+    }
+
+    @Benchmark
+    public String deadline() {
+        return controller.getResponse("deadline submit form /by 5/3/2024 1800");
+    }
+
+    @Benchmark
+    public String event() {
+        return controller.getResponse("event team meet /from 5/3/2024 1400 /to 5/3/2024 1600");
+    }
+
+    @Benchmark
+    public String mark() {
+        return controller.getResponse("mark #" + nextTaskId());
+    }
+
+    @Benchmark
+    public String unmark() {
+        return controller.getResponse("unmark #" + nextTaskId());
+    }
+
+    @Benchmark
+    public String deleteAndAdd() {
+        controller.getResponse("delete 1");
+        return controller.getResponse("todo write weekly report");
+    }
+
+    @Benchmark
+    public String unknownCommand() {
+        return controller.getResponse("blah");
+    }
+
+    /**
+     * @return The ids of the generated tasks in turn, so marking always hits a task that exists.
+     */
+    private int nextTaskId() {
+        nextId = nextId % taskCount + 1;
+        return nextId;
+    }
+}
@@ -0,0 +1,63 @@
+package URBOI_PACKIN.Index;
+
+import URBOI_PACKIN.Storage.TaskFileGenerator;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search through the repository's index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FindBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+
+    // One common word, a prefix, two words that must both match, and a word no task has
+    @Param({"report", "re", "book read", "zebra"})
+    public String query;
+
+    private File file;
+    private TaskRepository tasks;
+    private List<String> keywords;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("bench-find-", ".txt");
+        TaskFileGenerator.write(file.getPath(), taskCount, TaskFileGenerator.DEFAULT_SEED);
+        tasks = new TaskRepository(file.getPath());
+        keywords = Arrays.asList(query.split(" "));
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public List<Task> find() {
+        return tasks.find(keywords);
+    }
+}
@@ -0,0 +1,71 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving a whole task file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+
+    private ArrayList<Task> tasks;
+    private File loadFile;
+    private File saveFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        tasks = TaskFileGenerator.generate(taskCount, TaskFileGenerator.DEFAULT_SEED);
+        loadFile = File.createTempFile("bench-load-", ".txt");
+        saveFile = File.createTempFile("bench-save-", ".txt");
+        Storage.saveTasksToFile(tasks, loadFile.getPath());
+    }
+
+    @TearDown
+    public void tearDown() {
+        loadFile.delete();
+        saveFile.delete();
+    }
+
+    @Benchmark
+    public ArrayList<Task> load() {
+        ArrayList<Task> loaded = new ArrayList<>(taskCount);
+        Storage.loadTasksFromFile(loaded, loadFile.getPath());
+        return loaded;
+    }
+
+    @Benchmark
+    public CompactTaskStore loadCompact() throws IOException {
+        CompactTaskStore loaded = new CompactTaskStore();
+        CompactTaskStore.load(loadFile.getPath(), loaded);
+        return loaded;
+    }
+
+    @Benchmark
+    public void save() {
+        Storage.saveTasksToFile(tasks, saveFile.getPath());
+    }
+}
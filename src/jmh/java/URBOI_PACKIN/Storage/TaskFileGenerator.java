@@ -0,0 +1,88 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Makes task lists of any size for the benchmarks. The same count and seed always give the same tasks, so
+ * results from different commits are measured on the same data.
+ *
+ * About 60% of the tasks are todos, 25% deadlines and 15% events, a third of them done. Descriptions are
+ * three to six words from a fixed vocabulary, so every word matches a predictable share of the tasks.
+ *
+ * Usage: TaskFileGenerator count [file] [seed]
+ */
+public class TaskFileGenerator {
+    public static final long DEFAULT_SEED = 42;
+    static final String[] WORDS = {
+        "read", "write", "book", "report", "call", "email", "buy", "milk", "fix", "bug", "review", "code",
+        "plan", "trip", "pay", "rent", "clean", "room", "walk", "dog", "cook", "dinner", "meet", "team",
+        "update", "docs", "study", "exam", "submit", "form", "water", "plants", "visit", "parents", "hotel",
+        "flight", "renew", "passport", "backup", "laptop", "order", "groceries", "prepare", "slides", "draft",
+        "proposal", "train", "model", "test", "release", "deploy", "server", "answer", "letters", "sort",
+        "photos", "return", "library", "practice", "piano", "gym", "session", "schedule", "dentist",
+    };
+    private static final DateTimeFormatter EVENT_TIME = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    /**
+     * @return count tasks with ids 1 to count.
+     */
+    public static ArrayList<Task> generate(int count, long seed) {
+        Random random = new Random(seed);
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        StringBuilder description = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            description.setLength(0);
+            int words = 3 + random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    description.append(' ');
+                }
+                description.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            LocalDateTime date = START.plusMinutes(30L * random.nextInt(2 * 365 * 48));
+            int kind = random.nextInt(20);
+            Task task;
+            if (kind < 12) {
+                task = new Todo(description.toString());
+            } else if (kind < 17) {
+                task = new Deadline(description.toString(), date);
+            } else {
+                task = new Event(description.toString(), EVENT_TIME.format(date), EVENT_TIME.format(date.plusHours(2)));
+            }
+            task.setId(i);
+            if (random.nextInt(3) == 0) {
+                task.markDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes count generated tasks to a task file.
+     */
+    public static void write(String filePath, int count, long seed) {
+        Storage.saveTasksToFile(generate(count, seed), filePath);
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: TaskFileGenerator count [file] [seed]");
+            System.exit(1);
+        }
+        int count = Integer.parseInt(args[0]);
+        String filePath = args.length > 1 ? args[1] : "tasks-" + count + ".txt";
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        write(filePath, count, seed);
+        System.out.println("Wrote " + count + " tasks to " + filePath);
+    }
+}
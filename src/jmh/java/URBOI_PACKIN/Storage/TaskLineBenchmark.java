@@ -0,0 +1,39 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning one line of the task file into a task. Lives in the storage package because
+ * Storage.createTaskFromLine is not public.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TaskLineBenchmark {
+    @Param({
+        "#12 | T | 0 | read book report",
+        "#13 | D | 1 | submit form | 2024-03-05T14:30",
+        "#14 | E | 0 | team meet | 5/3/2024 1400 | 5/3/2024 1600",
+    })
+    public String line;
+
+    @Benchmark
+    public Task createTaskFromLine() {
+        return Storage.createTaskFromLine(line);
+    }
+}
@@ -0,0 +1,97 @@
+package URBOI_PACKIN;
+
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Runs commands without the GUI, one per line from a script file or standard input.
+ * Every command runs against one in-memory task list, which is saved every N commands and once at the end
+ * instead of after every change.
+ *
+ * Usage: BatchRunner [--file tasks.txt] [--save-every N] [script]
+ */
+public class BatchRunner {
+    private static final String DEFAULT_FILE_PATH = "tasks.txt";
+
+    private final TaskRepository tasks;
+    private final ResponseController responseController;
+    private final int saveEvery;
+
+    /**
+     * @param tasks The task list to run the commands against.
+     * @param saveEvery Save after this many commands. 0 only saves at the end.
+     */
+    public BatchRunner(TaskRepository tasks, int saveEvery) {
+        this.tasks = tasks;
+        this.responseController = new ResponseController(tasks);
+        this.responseController.setAutoSave(false);
+        this.saveEvery = saveEvery;
+    }
+
+    /**
+     * Runs every command until the input ends or "bye" is read, printing each response.
+     *
+     * @return The number of commands run.
+     * @throws IOException If the input could not be read or the tasks could not be saved.
+     */
+    public int run(BufferedReader reader, PrintStream out) throws IOException {
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            out.println(responseController.getResponse(line));
+            count++;
+            if (saveEvery > 0 && count % saveEvery == 0) {
+                tasks.save();
+            }
+            if (line.trim().equalsIgnoreCase("bye")) {
+                break;
+            }
+        }
+        tasks.save();
+        return count;
+    }
+
+    public static void main(String[] args) {
+        String filePath = DEFAULT_FILE_PATH;
+        String scriptPath = null;
+        int saveEvery = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--file") && i + 1 < args.length) {
+                filePath = args[++i];
+            } else if (args[i].equals("--save-every") && i + 1 < args.length) {
+                saveEvery = Integer.parseInt(args[++i]);
+            } else {
+                scriptPath = args[i];
+            }
+        }
+
+        BatchRunner runner = new BatchRunner(new TaskRepository(filePath), saveEvery);
+        long start = System.nanoTime();
+        try (BufferedReader reader = scriptPath == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : new BufferedReader(new FileReader(scriptPath, StandardCharsets.UTF_8))) {
+            // Always print UTF-8 so the output is the same on every platform
+            PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), false,
+                    StandardCharsets.UTF_8);
+            int count = runner.run(reader, out);
+            out.flush();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.printf("Ran %d commands in %.3f s (%.0f commands/s)%n", count, seconds,
+                    seconds > 0 ? count / seconds : 0);
+        } catch (IOException e) {
+            System.err.println("Error running commands: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.io.IOException;
+import java.time.YearMonth;
+
+/**
+ * Moves every done task out of the list and into this month's archive. Archived tasks are no longer loaded
+ * at startup, but still show up in "list all" and "find --archive".
+ */
+public class ArchiveCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws DukeException {
+        if (!input.getArguments().isEmpty()) {
+            throw input.error(this, "archive doesn't take anything after it.");
+        }
+        int archived;
+        try {
+            archived = tasks.archiveDone(YearMonth.now());
+        } catch (IOException e) {
+            throw new DukeException("I couldn't archive your tasks: " + e.getMessage());
+        }
+        if (archived == 0) {
+            return "There are no done tasks to archive.";
+        }
+        return "OK, I've archived " + Responses.count(archived) + ". Now you have " + tasks.size()
+                + " tasks in the list and " + tasks.getArchive().size() + " in the archive.";
+    }
+
+    @Override
+    public String getUsage() {
+        return "archive";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DateParser;
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Shows the deadlines due and the events happening between two dates.
+ * Dates can contain spaces, so every split point of the arguments is tried. An end date without a time
+ * includes that whole day.
+ */
+public class BetweenCommand implements Command {
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("d MMM yyyy HH:mm");
+
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        String[] words = input.requireArguments(this, "Which dates?").split("\\s+");
+        for (int i = 1; i < words.length; i++) {
+            String first = String.join(" ", Arrays.copyOfRange(words, 0, i));
+            String second = String.join(" ", Arrays.copyOfRange(words, i, words.length));
+            LocalDateTime from = DateParser.parse(first);
+            LocalDateTime to = DateParser.parse(second);
+            if (from != null && to != null) {
+                if (DateParser.isDateOnly(second)) {
+                    to = to.plusDays(1).minusNanos(1);
+                }
+                return Responses.numberedList("Here are the tasks between " + from.format(DISPLAY_FORMAT)
+                        + " and " + to.format(DISPLAY_FORMAT) + ":\n", tasks.getTasksBetween(from, to));
+            }
+        }
+        throw input.error(this, "The between command needs two dates.");
+    }
+
+    @Override
+    public String getUsage() {
+        return "between <start date> <end date>";
+    }
+}
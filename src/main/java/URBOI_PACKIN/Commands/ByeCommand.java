@@ -0,0 +1,26 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.io.IOException;
+
+/**
+ * Says goodbye and folds any pending changes into the task file.
+ */
+public class ByeCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws DukeException {
+        try {
+            tasks.compact();
+        } catch (IOException e) {
+            throw new DukeException("I couldn't save your tasks: " + e.getMessage());
+        }
+        return "Bye. Hope to see you again soon!";
+    }
+
+    @Override
+    public String getUsage() {
+        return "bye";
+    }
+}
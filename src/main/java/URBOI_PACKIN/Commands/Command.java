@@ -0,0 +1,32 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.TaskRepository;
+
+/**
+ * Handles one command word, e.g. "todo" or "list".
+ */
+public interface Command {
+
+    /**
+     * Runs the command against the task list.
+     *
+     * @param tasks The task list.
+     * @param input The command as typed, already split into its word and arguments.
+     * @return The response to show the user.
+     * @throws DukeException If the arguments are wrong or the command cannot be done.
+     */
+    String execute(TaskRepository tasks, CommandInput input) throws DukeException;
+
+    /**
+     * @return How to use the command, shown when its arguments are wrong.
+     */
+    String getUsage();
+
+    /**
+     * @return true if the command can change the task list, so it needs saving afterwards.
+     */
+    default boolean isMutating() {
+        return false;
+    }
+}
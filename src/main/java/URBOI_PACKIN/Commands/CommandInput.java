@@ -0,0 +1,218 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DateParser;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A command split once into its word and the rest of the line, with helpers to pull arguments out of the rest.
+ */
+public class CommandInput {
+    private final String verb;
+    private final String arguments;
+
+    private CommandInput(String verb, String arguments) {
+        this.verb = verb;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Splits a line at the first whitespace. The command word is lower cased.
+     */
+    public static CommandInput parse(String line) {
+        String trimmed = line.trim();
+        int end = 0;
+        while (end < trimmed.length() && !Character.isWhitespace(trimmed.charAt(end))) {
+            end++;
+        }
+        return new CommandInput(trimmed.substring(0, end).toLowerCase(Locale.ROOT), trimmed.substring(end).trim());
+    }
+
+    public String getVerb() {
+        return verb;
+    }
+
+    public String getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return The arguments, which must not be empty.
+     */
+    public String requireArguments(Command command, String problem) throws CommandParseException {
+        if (arguments.isEmpty()) {
+            throw error(command, problem);
+        }
+        return arguments;
+    }
+
+    /**
+     * Reads the arguments as a 1-based task number.
+     *
+     * @return The 0-based index. It is not checked against the list size.
+     */
+    public int requireIndex(Command command) throws CommandParseException {
+        String number = requireArguments(command, "Which task? Give its number.");
+        try {
+            return Integer.parseInt(number) - 1;
+        } catch (NumberFormatException e) {
+            throw error(command, "'" + number + "' is not a task number.");
+        }
+    }
+
+    /**
+     * Reads the arguments as a task, given either by id ("#12") or by its 1-based number in the list ("3").
+     *
+     * @return The task, or null if there is no such task.
+     */
+    public Task requireTask(Command command, TaskRepository tasks) throws CommandParseException {
+        String reference = requireArguments(command, "Which task? Give its number or #id.");
+        if (reference.charAt(0) != '#') {
+            int index = requireIndex(command);
+            return index >= 0 && index < tasks.size() ? tasks.get(index) : null;
+        }
+        try {
+            return tasks.getById(Integer.parseInt(reference.substring(1)));
+        } catch (NumberFormatException e) {
+            throw error(command, "'" + reference + "' is not a task id.");
+        }
+    }
+
+    /**
+     * @return true if the arguments pick several tasks, e.g. "1-5", "2, 4", "all" or "done", rather than one.
+     */
+    public boolean isMultipleTasks() {
+        String lower = arguments.toLowerCase(Locale.ROOT);
+        if (lower.equals("all") || lower.equals("done") || lower.equals("todo")) {
+            return true;
+        }
+        for (int i = 0; i < arguments.length(); i++) {
+            char c = arguments.charAt(i);
+            if (c == ',' || c == '-' || Character.isWhitespace(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the arguments as a selection of tasks: "all", "done", "todo" (not done yet), or a list of
+     * numbers, ranges and ids separated by commas or spaces, e.g. "1-500", "2, 4, 9" or "#12 #15".
+     * Numbers are positions in the list as it is now.
+     *
+     * @return The tasks in the order they were given, each only once.
+     */
+    public List<Task> requireTasks(Command command, TaskRepository tasks) throws CommandParseException {
+        String selection = requireArguments(command, "Which tasks? Give numbers, ranges, #ids, all, done or todo.");
+        String lower = selection.toLowerCase(Locale.ROOT);
+        if (lower.equals("all")) {
+            return new ArrayList<>(tasks.getTasks());
+        }
+        if (lower.equals("done") || lower.equals("todo")) {
+            boolean isDone = lower.equals("done");
+            List<Task> matches = new ArrayList<>();
+            for (Task task : tasks.getTasks()) {
+                if (task.isDone() == isDone) {
+                    matches.add(task);
+                }
+            }
+            return matches;
+        }
+
+        Set<Task> selected = new LinkedHashSet<>();
+        for (String part : selection.split("[,\\s]+")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            if (part.charAt(0) == '#') {
+                Task task = tasks.getById(readNumber(command, part.substring(1), part));
+                if (task == null) {
+                    throw error(command, "There is no task " + part + ".");
+                }
+                selected.add(task);
+                continue;
+            }
+            int dash = part.indexOf('-');
+            int first = readNumber(command, dash < 0 ? part : part.substring(0, dash), part);
+            int last = dash < 0 ? first : readNumber(command, part.substring(dash + 1), part);
+            if (first < 1 || last > tasks.size() || first > last) {
+                throw error(command, "'" + part + "' is not in the list, which has tasks 1 to " + tasks.size() + ".");
+            }
+            for (int i = first - 1; i < last; i++) {
+                selected.add(tasks.get(i));
+            }
+        }
+        return new ArrayList<>(selected);
+    }
+
+    /**
+     * Splits the arguments at flags such as "/by", which must appear as separate words and in the given order.
+     * For "read book /by 1/1/2024 1200" and the flag "/by" this gives ["read book", "1/1/2024 1200"].
+     *
+     * @return The text before the first flag followed by the text after each flag, all trimmed and non-empty.
+     */
+    public String[] split(Command command, String... flags) throws CommandParseException {
+        String[] parts = new String[flags.length + 1];
+        int start = 0;
+        for (int i = 0; i < flags.length; i++) {
+            int flagStart = indexOfFlag(flags[i], start);
+            if (flagStart < 0) {
+                throw error(command, "The " + verb + " command needs " + flags[i] + ".");
+            }
+            parts[i] = arguments.substring(start, flagStart).trim();
+            start = flagStart + flags[i].length();
+        }
+        parts[flags.length] = arguments.substring(start).trim();
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].isEmpty()) {
+                String what = i == 0 ? "The description" : "The part after " + flags[i - 1];
+                throw error(command, what + " of a " + verb + " cannot be empty.");
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Parses a date with DateParser.
+     */
+    public LocalDateTime requireDate(Command command, String text) throws CommandParseException {
+        LocalDateTime date = DateParser.parse(text);
+        if (date == null) {
+            throw error(command, "I don't understand the date '" + text + "'.");
+        }
+        return date;
+    }
+
+    public CommandParseException error(Command command, String problem) {
+        return new CommandParseException(verb, problem, command.getUsage());
+    }
+
+    private int readNumber(Command command, String number, String part) throws CommandParseException {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            throw error(command, "'" + part + "' is not a task number, range or #id.");
+        }
+    }
+
+    private int indexOfFlag(String flag, int from) {
+        int index = arguments.indexOf(flag, from);
+        while (index >= 0) {
+            int end = index + flag.length();
+            boolean isWordStart = index == 0 || Character.isWhitespace(arguments.charAt(index - 1));
+            boolean isWordEnd = end == arguments.length() || Character.isWhitespace(arguments.charAt(end));
+            if (isWordStart && isWordEnd) {
+                return index;
+            }
+            index = arguments.indexOf(flag, index + 1);
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,25 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+
+/**
+ * Thrown when a command's arguments cannot be understood. Carries the command and how it should be used.
+ */
+public class CommandParseException extends DukeException {
+    private final String verb;
+    private final String usage;
+
+    public CommandParseException(String verb, String problem, String usage) {
+        super(problem + " Usage: " + usage);
+        this.verb = verb;
+        this.usage = usage;
+    }
+
+    public String getVerb() {
+        return verb;
+    }
+
+    public String getUsage() {
+        return usage;
+    }
+}
@@ -0,0 +1,56 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Looks up the handler for a command word. New commands only need to be registered here.
+ */
+public class CommandRegistry {
+    private final HashMap<String, Command> commands = new HashMap<>();
+
+    /**
+     * @return A registry with every built-in command.
+     */
+    public static CommandRegistry createDefault() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register("bye", new ByeCommand());
+        registry.register("list", new ListCommand());
+        registry.register("todo", new TodoCommand());
+        registry.register("deadline", new DeadlineCommand());
+        registry.register("event", new EventCommand());
+        registry.register("mark", new MarkCommand(true));
+        registry.register("unmark", new MarkCommand(false));
+        registry.register("delete", new DeleteCommand());
+        registry.register("find", new FindCommand());
+        registry.register("due", new DueCommand());
+        registry.register("between", new BetweenCommand());
+        registry.register("overdue", new OverdueCommand());
+        registry.register("stats", new StatsCommand());
+        registry.register("archive", new ArchiveCommand());
+        registry.register("undo", new UndoCommand(true));
+        registry.register("redo", new UndoCommand(false));
+        registry.register("import", new ImportCommand());
+        registry.register("export", new ExportCommand());
+        return registry;
+    }
+
+    public void register(String verb, Command command) {
+        commands.put(verb.toLowerCase(Locale.ROOT), command);
+    }
+
+    /**
+     * @param verb The lower case command word.
+     * @return The handler for it.
+     * @throws DukeException If there is no such command.
+     */
+    public Command get(String verb) throws DukeException {
+        Command command = commands.get(verb);
+        if (command == null) {
+            throw new DukeException("I'm sorry, but I don't know what that means :-(");
+        }
+        return command;
+    }
+}
@@ -0,0 +1,27 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.TaskTypes.Deadline;
+
+/**
+ * Adds a task that has to be done by a date.
+ */
+public class DeadlineCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        String[] parts = input.split(this, "/by");
+        Deadline deadline = new Deadline(parts[0], input.requireDate(this, parts[1]));
+        tasks.add(deadline);
+        return Responses.added(deadline, tasks.size());
+    }
+
+    @Override
+    public String getUsage() {
+        return "deadline <description> /by <d/M/yyyy HHmm>";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+
+import java.util.List;
+
+/**
+ * Removes a task from the list, or several at once, e.g. "delete done" or "delete 3-10".
+ */
+public class DeleteCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        if (input.isMultipleTasks()) {
+            List<Task> selected = input.requireTasks(this, tasks);
+            if (selected.isEmpty()) {
+                return "No matching tasks found.";
+            }
+            int removed = tasks.removeAll(selected);
+            return "Noted. I've removed " + Responses.count(removed) + ".\nNow you have " + tasks.size()
+                    + " tasks in the list.";
+        }
+        Task task = input.requireTask(this, tasks);
+        if (task == null) {
+            return Responses.INVALID_INDEX;
+        }
+        Task removedTask = tasks.removeById(task.getId());
+        return "Noted. I've removed this task:\n  " + removedTask + "\nNow you have " + tasks.size()
+                + " tasks in the list.";
+    }
+
+    @Override
+    public String getUsage() {
+        return "delete <task number or #id | numbers, ranges and #ids | all | done | todo>";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.time.LocalDate;
+
+/**
+ * Shows the deadlines due and the events happening on a day.
+ */
+public class DueCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        String text = input.requireArguments(this, "Which day?");
+        LocalDate day = input.requireDate(this, text).toLocalDate();
+        return Responses.numberedList("Here are the tasks on " + day + ":\n",
+                tasks.getTasksBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay().minusNanos(1)));
+    }
+
+    @Override
+    public String getUsage() {
+        return "due <date>";
+    }
+}
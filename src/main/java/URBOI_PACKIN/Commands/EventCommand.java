@@ -0,0 +1,27 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.TaskTypes.Event;
+
+/**
+ * Adds a task that starts and ends at given times.
+ */
+public class EventCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        String[] parts = input.split(this, "/from", "/to");
+        Event event = new Event(parts[0], parts[1], parts[2]);
+        tasks.add(event);
+        return Responses.added(event, tasks.size());
+    }
+
+    @Override
+    public String getUsage() {
+        return "event <description> /from <start> /to <end>";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Where import and export may read and write. The app on your own computer can use any file; a server keeps
+ * each user to a folder of their own, so one user cannot read or overwrite another's files.
+ */
+class ExchangeFiles {
+    private final Path directory;
+
+    /**
+     * @param directory The folder files must be in, or null to allow any file.
+     */
+    ExchangeFiles(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param filePath The file as typed.
+     * @return The file to use.
+     * @throws DukeException If the file is outside the folder, e.g. an absolute path or one with "..".
+     */
+    String resolve(String filePath) throws DukeException {
+        if (directory == null) {
+            return filePath;
+        }
+        Path path;
+        try {
+            path = Path.of(filePath);
+        } catch (InvalidPathException e) {
+            throw new DukeException("'" + filePath + "' is not a file name I can use.");
+        }
+        boolean isGoingUp = false;
+        for (Path part : path) {
+            isGoingUp |= part.toString().equals("..");
+        }
+        Path resolved = directory.resolve(path).normalize();
+        if (path.isAbsolute() || isGoingUp || !resolved.startsWith(directory.normalize())) {
+            throw new DukeException("I can only use files in your own folder, e.g. tasks.csv.");
+        }
+        return resolved.toString();
+    }
+
+    /**
+     * @return The folder files must be in, or null if any file is allowed.
+     */
+    Path getDirectory() {
+        return directory;
+    }
+}
@@ -0,0 +1,63 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.AtomicSnapshotWriter;
+import URBOI_PACKIN.Storage.TaskFormat;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes the task list to a CSV or iCalendar file, e.g. "export tasks.ics". Tasks are streamed to the file
+ * as they are written out, and the file only replaces one already there once it is complete.
+ */
+public class ExportCommand implements Command {
+    private final ExchangeFiles files;
+
+    /**
+     * Creates the command for the app on your own computer, which may use any file.
+     */
+    public ExportCommand() {
+        this(null);
+    }
+
+    /**
+     * @param directory The folder the file must be in, e.g. a server user's own folder. Paths are taken
+     *     as relative to it, and absolute paths or ones with ".." are refused.
+     */
+    public ExportCommand(Path directory) {
+        this.files = new ExchangeFiles(directory);
+    }
+
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws DukeException {
+        String typedPath = input.getArguments();
+        if (typedPath.isEmpty()) {
+            throw input.error(this, "Which file should I export to?");
+        }
+        TaskFormat format = TaskFormat.forExchange(typedPath);
+        if (format == null) {
+            throw input.error(this, "I can only export to .csv and .ics files.");
+        }
+        String filePath = files.resolve(typedPath);
+        List<Task> exported = tasks.getTasks();
+        try {
+            if (files.getDirectory() != null) {
+                Files.createDirectories(files.getDirectory());
+            }
+            new AtomicSnapshotWriter(filePath, format, false, 0).write(exported);
+        } catch (IOException e) {
+            throw new DukeException("I couldn't export to " + typedPath + ": " + e.getMessage());
+        }
+        return "OK, I've exported " + Responses.count(exported.size()) + " to " + typedPath + ".";
+    }
+
+    @Override
+    public String getUsage() {
+        return "export <file.csv or file.ics>";
+    }
+}
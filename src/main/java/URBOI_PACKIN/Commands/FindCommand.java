@@ -0,0 +1,44 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import URBOI_PACKIN.Task;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the tasks that have a word starting with every keyword, e.g. "find book read" finds "Read books".
+ * "find --archive book" looks through the archived tasks as well, reading the archive as it goes.
+ */
+public class FindCommand implements Command {
+    private static final String ARCHIVE_OPTION = "--archive";
+
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws DukeException {
+        String arguments = input.requireArguments(this, "The keyword to find cannot be empty.");
+        List<String> keywords = new ArrayList<>(Arrays.asList(arguments.split("\\s+")));
+        boolean isArchive = keywords.remove(ARCHIVE_OPTION);
+        if (keywords.isEmpty()) {
+            throw input.error(this, "The keyword to find cannot be empty.");
+        }
+        if (!isArchive) {
+            return Responses.numberedList("Here are the matching tasks in your list:\n", tasks.find(keywords));
+        }
+        List<Task> found = new ArrayList<>(tasks.find(keywords));
+        try {
+            found.addAll(tasks.getArchive().find(keywords));
+        } catch (IOException e) {
+            throw new DukeException("I couldn't read your archived tasks: " + e.getMessage());
+        }
+        return Responses.numberedList("Here are the matching tasks in your list and archive:\n", found);
+    }
+
+    @Override
+    public String getUsage() {
+        return "find [--archive] <keyword> [more keywords]";
+    }
+}
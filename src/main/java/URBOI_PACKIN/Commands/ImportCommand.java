@@ -0,0 +1,85 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.TaskFormat;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds every task in a CSV or iCalendar file to the end of the list, e.g. "import tasks.csv". The file is
+ * read in chunks side by side, and the tasks are added and saved in one step, which "undo" takes back.
+ */
+public class ImportCommand implements Command {
+    private final ExchangeFiles files;
+
+    /**
+     * Creates the command for the app on your own computer, which may use any file.
+     */
+    public ImportCommand() {
+        this(null);
+    }
+
+    /**
+     * @param directory The folder the file must be in, e.g. a server user's own folder. Paths are taken
+     *     as relative to it, and absolute paths or ones with ".." are refused.
+     */
+    public ImportCommand(Path directory) {
+        this.files = new ExchangeFiles(directory);
+    }
+
+    private static final int SHOWN_ERRORS = 5;
+
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws DukeException {
+        String typedPath = input.getArguments();
+        if (typedPath.isEmpty()) {
+            throw input.error(this, "Which file should I import?");
+        }
+        TaskFormat format = TaskFormat.forExchange(typedPath);
+        if (format == null) {
+            throw input.error(this, "I can only import .csv and .ics files.");
+        }
+        String filePath = files.resolve(typedPath);
+        if (!new File(filePath).isFile()) {
+            throw new DukeException("I couldn't find " + typedPath + ".");
+        }
+        ArrayList<Task> imported = new ArrayList<>();
+        List<String> errors;
+        try {
+            errors = format.read(filePath, imported);
+            tasks.addAll(imported);
+        } catch (IOException e) {
+            throw new DukeException("I couldn't import " + typedPath + ": " + e.getMessage());
+        }
+
+        StringBuilder response = new StringBuilder("OK, I've imported " + Responses.count(imported.size())
+                + " from " + typedPath + ". Now you have " + tasks.size() + " tasks in the list.");
+        if (!errors.isEmpty()) {
+            response.append("\nI skipped ").append(errors.size() == 1 ? "1 entry" : errors.size() + " entries")
+                    .append(" I couldn't read:");
+            for (String error : errors.subList(0, Math.min(SHOWN_ERRORS, errors.size()))) {
+                response.append("\n  ").append(error);
+            }
+            if (errors.size() > SHOWN_ERRORS) {
+                response.append("\n  ...");
+            }
+        }
+        return response.toString();
+    }
+
+    @Override
+    public String getUsage() {
+        return "import <file.csv or file.ics>";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
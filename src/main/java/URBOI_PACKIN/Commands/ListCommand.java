@@ -0,0 +1,177 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Shows the tasks one page at a time, e.g. "list", "list page 3", "list done" or "list --limit 50 --offset 1000".
+ * Only the tasks on the page are formatted, so a huge list costs no more to show than a short one.
+ * "list all" goes on into the archived tasks after the list, reading only the archive segments on the page.
+ * Tasks keep their numbers in the whole list, so they can be passed straight to mark or delete, and each
+ * row also shows the task's id, which does not change when other tasks are deleted.
+ */
+public class ListCommand implements Command {
+    static final int PAGE_SIZE = 100;
+
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws DukeException {
+        try {
+            return list(tasks, input);
+        } catch (UncheckedIOException e) {
+            // An archive segment on the page could not be read
+            throw new DukeException("I couldn't read your archived tasks: " + e.getCause().getMessage());
+        }
+    }
+
+    private String list(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        Boolean isDone = null;
+        boolean isAll = false;
+        int page = 0;
+        int limit = PAGE_SIZE;
+        int offset = -1;
+        String[] words = input.getArguments().isEmpty() ? new String[0] : input.getArguments().split("\\s+");
+        for (int i = 0; i < words.length; i++) {
+            switch (words[i].toLowerCase(Locale.ROOT)) {
+            case "done":
+                isDone = true;
+                break;
+            case "todo":
+                isDone = false;
+                break;
+            case "all":
+                isAll = true;
+                break;
+            case "page":
+                page = readNumber(input, words, ++i, 1);
+                break;
+            case "--limit":
+                limit = readNumber(input, words, ++i, 1);
+                break;
+            case "--offset":
+                offset = readNumber(input, words, ++i, 0);
+                break;
+            default:
+                throw input.error(this, "I don't know the list option '" + words[i] + "'.");
+            }
+        }
+        if (page > 0 && offset >= 0) {
+            throw input.error(this, "Use either page or --offset, not both.");
+        }
+        boolean isPaged = offset < 0;
+        int start = isPaged ? (int) Math.min((long) (Math.max(page, 1) - 1) * limit, Integer.MAX_VALUE) : offset;
+
+        List<Task> active = tasks.getTasks();
+        // Only done tasks are archived, so "list all todo" has nothing to read there
+        List<Task> archived = isAll && !Boolean.FALSE.equals(isDone) ? tasks.getArchive().asList() : List.of();
+        StringBuilder response = new StringBuilder(header(isDone, isAll));
+        int total;
+        int shown = 0;
+        if (isDone == null) {
+            // Every task matches, so go straight to the page
+            total = active.size() + archived.size();
+            for (int i = start; i < total && shown < limit; i++, shown++) {
+                if (i < active.size()) {
+                    appendTask(response, i, active.get(i));
+                } else {
+                    appendArchivedTask(response, archived.get(i - active.size()));
+                }
+            }
+        } else {
+            total = 0;
+            int i = 0;
+            for (Task task : active) {
+                if (task.isDone() == isDone) {
+                    if (total >= start && shown < limit) {
+                        appendTask(response, i, task);
+                        shown++;
+                    }
+                    total++;
+                }
+                i++;
+            }
+            for (Task task : archived) {
+                if (task.isDone() == isDone) {
+                    if (total >= start && shown < limit) {
+                        appendArchivedTask(response, task);
+                        shown++;
+                    }
+                    total++;
+                }
+            }
+            if (total == 0) {
+                return "No matching tasks found.";
+            }
+        }
+
+        if (shown == 0 && total > 0) {
+            return "There are only " + total + " tasks to show, so that page is empty.";
+        }
+        if (start + shown < total) {
+            response.append("Showing ").append(start + 1).append('-').append(start + shown).append(" of ")
+                    .append(total).append(". For more, type: list");
+            if (isAll) {
+                response.append(" all");
+            }
+            if (isDone != null) {
+                response.append(isDone ? " done" : " todo");
+            }
+            if (isPaged) {
+                response.append(" page ").append(Math.max(page, 1) + 1);
+            } else {
+                response.append(" --offset ").append(start + shown);
+            }
+            if (limit != PAGE_SIZE) {
+                response.append(" --limit ").append(limit);
+            }
+        }
+        return response.toString();
+    }
+
+    private static void appendTask(StringBuilder response, int index, Task task) {
+        response.append(index + 1).append(". ");
+        task.appendTo(response);
+        response.append(" #").append(task.getId()).append('\n');
+    }
+
+    /**
+     * Archived tasks have no number in the list, so they can only be told apart by id.
+     */
+    private static void appendArchivedTask(StringBuilder response, Task task) {
+        response.append("- ");
+        task.appendTo(response);
+        response.append(" #").append(task.getId()).append(" (archived)\n");
+    }
+
+    @Override
+    public String getUsage() {
+        return "list [all] [done|todo] [page N] [--limit N] [--offset N]";
+    }
+
+    private static String header(Boolean isDone, boolean isAll) {
+        String where = isAll ? " in your list and archive:\n" : " in your list:\n";
+        if (isDone == null) {
+            return "Here are the tasks" + where;
+        }
+        return isDone ? "Here are the done tasks" + where : "Here are the tasks not done yet" + where;
+    }
+
+    private int readNumber(CommandInput input, String[] words, int i, int min) throws CommandParseException {
+        if (i >= words.length) {
+            throw input.error(this, words[i - 1] + " needs a number after it.");
+        }
+        try {
+            int number = Integer.parseInt(words[i]);
+            if (number >= min) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw input.error(this, "'" + words[i] + "' is not a valid number for " + words[i - 1] + ".");
+    }
+}
@@ -0,0 +1,55 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+
+import java.util.List;
+
+/**
+ * Marks a task as done, or as not done yet. Several tasks can be marked at once, e.g. "mark 1-500" or
+ * "unmark all", in which case only a count is shown.
+ */
+public class MarkCommand implements Command {
+    private final boolean isDone;
+
+    public MarkCommand(boolean isDone) {
+        this.isDone = isDone;
+    }
+
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        if (input.isMultipleTasks()) {
+            List<Task> selected = input.requireTasks(this, tasks);
+            if (selected.isEmpty()) {
+                return "No matching tasks found.";
+            }
+            int changed = tasks.markAll(selected, isDone);
+            String response = isDone
+                    ? "Nice! I've marked " + Responses.count(changed) + " as done."
+                    : "OK, I've marked " + Responses.count(changed) + " as not done yet.";
+            int unchanged = selected.size() - changed;
+            if (unchanged > 0) {
+                response += " " + Responses.count(unchanged) + (unchanged == 1 ? " already was." : " already were.");
+            }
+            return response;
+        }
+        Task task = input.requireTask(this, tasks);
+        if (task == null) {
+            return Responses.INVALID_INDEX;
+        }
+        if (isDone) {
+            return "Nice! I've marked this task as done:\n  " + tasks.markDoneById(task.getId());
+        }
+        return "OK, I've marked this task as not done yet:\n  " + tasks.markNotDoneById(task.getId());
+    }
+
+    @Override
+    public String getUsage() {
+        return (isDone ? "mark" : "unmark") + " <task number or #id | numbers, ranges and #ids | all | done | todo>";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
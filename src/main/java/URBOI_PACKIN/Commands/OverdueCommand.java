@@ -0,0 +1,20 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shows the deadlines that have passed and are not done yet.
+ */
+public class OverdueCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) {
+        return Responses.numberedList("Here are your overdue tasks:\n", tasks.getOverdueTasks(LocalDateTime.now()));
+    }
+
+    @Override
+    public String getUsage() {
+        return "overdue";
+    }
+}
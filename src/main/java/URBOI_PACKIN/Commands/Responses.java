@@ -0,0 +1,33 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Task;
+
+import java.util.List;
+
+/**
+ * Wording shared by several commands.
+ */
+class Responses {
+    static final String INVALID_INDEX = "Invalid task index.";
+
+    static String added(Task task, int size) {
+        return "Got it. I've added this task:\n  " + task + "\nNow you have " + size + " tasks in the list.";
+    }
+
+    static String count(int tasks) {
+        return tasks == 1 ? "1 task" : tasks + " tasks";
+    }
+
+    static String numberedList(String header, List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "No matching tasks found.";
+        }
+        StringBuilder response = new StringBuilder(header);
+        for (int i = 0; i < tasks.size(); i++) {
+            response.append(i + 1).append(". ");
+            tasks.get(i).appendTo(response);
+            response.append('\n');
+        }
+        return response.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Metrics.LatencyHistogram;
+import URBOI_PACKIN.Metrics.Metrics;
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shows how long each command, load and save has taken so far, and how much was read and written.
+ * "stats reset" starts counting again.
+ */
+public class StatsCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        if (input.getArguments().equalsIgnoreCase("reset")) {
+            Metrics.reset();
+            return "OK, I've cleared the stats.";
+        } else if (!input.getArguments().isEmpty()) {
+            throw input.error(this, "'" + input.getArguments() + "' is not something stats understands.");
+        }
+        if (!Metrics.isEnabled()) {
+            return "Stats are turned off.";
+        }
+        Map<String, LatencyHistogram> timers = Metrics.getTimers();
+        Map<String, Long> counters = Metrics.getCounters();
+        if (timers.isEmpty() && counters.isEmpty()) {
+            return "Nothing has been measured yet.";
+        }
+        StringBuilder response = new StringBuilder("Here is how long things took:\n");
+        for (Map.Entry<String, LatencyHistogram> entry : timers.entrySet()) {
+            LatencyHistogram timer = entry.getValue();
+            response.append(String.format(Locale.ROOT, "%s: %d runs, p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    entry.getKey(), timer.getCount(), millis(timer.getValueAtPercentile(50)),
+                    millis(timer.getValueAtPercentile(99)), millis(timer.getMax())));
+        }
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            response.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        return response.toString().trim();
+    }
+
+    @Override
+    public String getUsage() {
+        return "stats [reset]";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,26 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+/**
+ * Adds a task without a date.
+ */
+public class TodoCommand implements Command {
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws CommandParseException {
+        Todo todo = new Todo(input.requireArguments(this, "The description of a todo cannot be empty."));
+        tasks.add(todo);
+        return Responses.added(todo, tasks.size());
+    }
+
+    @Override
+    public String getUsage() {
+        return "todo <description>";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
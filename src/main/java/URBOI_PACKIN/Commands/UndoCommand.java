@@ -0,0 +1,67 @@
+package URBOI_PACKIN.Commands;
+
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.io.IOException;
+
+/**
+ * Undoes the last change to the task list, or redoes the last change undone. "undo 5" goes back five
+ * changes at once. Adding, deleting and marking tasks can be undone; archiving cannot.
+ */
+public class UndoCommand implements Command {
+    private final boolean isUndo;
+
+    public UndoCommand(boolean isUndo) {
+        this.isUndo = isUndo;
+    }
+
+    @Override
+    public String execute(TaskRepository tasks, CommandInput input) throws DukeException {
+        int steps = 1;
+        if (!input.getArguments().isEmpty()) {
+            try {
+                steps = Integer.parseInt(input.getArguments());
+            } catch (NumberFormatException e) {
+                steps = 0;
+            }
+            if (steps < 1) {
+                throw input.error(this, "'" + input.getArguments() + "' is not a number of changes.");
+            }
+        }
+        String last = null;
+        int done = 0;
+        try {
+            for (; done < steps; done++) {
+                String step = isUndo ? tasks.undo() : tasks.redo();
+                if (step == null) {
+                    break;
+                }
+                last = step;
+            }
+        } catch (IOException e) {
+            throw new DukeException("I couldn't save your tasks: " + e.getMessage());
+        }
+        String verb = isUndo ? "undone" : "redone";
+        if (done == 0) {
+            return isUndo ? "There is nothing to undo." : "There is nothing to redo.";
+        } else if (done == 1) {
+            return "OK, I've " + verb + " " + last + ".";
+        }
+        String response = "OK, I've " + verb + " " + done + " changes.";
+        if (done < steps) {
+            response += " There was nothing more to " + (isUndo ? "undo." : "redo.");
+        }
+        return response;
+    }
+
+    @Override
+    public String getUsage() {
+        return isUndo ? "undo [number of changes]" : "redo [number of changes]";
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
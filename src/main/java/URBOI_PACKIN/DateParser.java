@@ -0,0 +1,72 @@
+package URBOI_PACKIN;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Turns the dates people type (and the dates already in task files) into LocalDateTime.
+ * The formatters are built once, and the shape of the text picks the one formatter that is tried,
+ * so well-formed dates never go through a failed parse.
+ */
+public class DateParser {
+    private static final DateTimeFormatter SLASH_DATE_TIME = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+    private static final DateTimeFormatter SLASH_DATE_COLON_TIME = DateTimeFormatter.ofPattern("d/M/yyyy H:mm");
+    private static final DateTimeFormatter SLASH_DATE = DateTimeFormatter.ofPattern("d/M/yyyy");
+    private static final DateTimeFormatter DASH_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateTimeFormatter DASH_DATE_COLON_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd H:mm");
+
+    /**
+     * Parses a date with or without a time, e.g. "23/10/2023 1400", "2023-10-23 14:00" or "2023-10-23".
+     * A date without a time means the start of that day.
+     *
+     * @param text The text to parse.
+     * @return The date and time, or null if the text is not a date we understand.
+     */
+    public static LocalDateTime parse(String text) {
+        String trimmed = text.trim();
+        boolean hasTime = trimmed.indexOf(' ') >= 0;
+        boolean hasColon = trimmed.indexOf(':') >= 0;
+        if (trimmed.indexOf('/') > 0) {
+            if (!hasTime) {
+                return parseDate(trimmed, SLASH_DATE);
+            }
+            return parseDateTime(trimmed, hasColon ? SLASH_DATE_COLON_TIME : SLASH_DATE_TIME);
+        }
+        if (trimmed.length() >= 10 && trimmed.charAt(4) == '-' && trimmed.charAt(7) == '-') {
+            if (trimmed.length() > 10 && trimmed.charAt(10) == 'T') {
+                return parseDateTime(trimmed, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            }
+            if (!hasTime) {
+                return parseDate(trimmed, DateTimeFormatter.ISO_LOCAL_DATE);
+            }
+            return parseDateTime(trimmed, hasColon ? DASH_DATE_COLON_TIME : DASH_DATE_TIME);
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the text is only a date, so it stands for a whole day rather than a moment.
+     */
+    public static boolean isDateOnly(String text) {
+        String trimmed = text.trim();
+        return parse(trimmed) != null && trimmed.indexOf(' ') < 0 && trimmed.indexOf('T') < 0;
+    }
+
+    private static LocalDateTime parseDateTime(String text, DateTimeFormatter formatter) {
+        try {
+            return LocalDateTime.parse(text, formatter);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseDate(String text, DateTimeFormatter formatter) {
+        try {
+            return LocalDate.parse(text, formatter).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package URBOI_PACKIN;
+
+/**
+ * Custom exception class for URBOI_PACKIN.ResponseController-specific exceptions.
+ */
+public class DukeException extends Exception {
+    public DukeException(String message) {
+        super(message);
+    }
+}
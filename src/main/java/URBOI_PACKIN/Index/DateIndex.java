@@ -0,0 +1,136 @@
+package URBOI_PACKIN.Index;
+
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Keeps deadlines and events sorted by time so they can be looked up by date range.
+ *
+ * Events are kept by start time. To find the events overlapping a range we only need to look at those
+ * starting no earlier than the longest event before the range, which keeps lookups a range scan rather
+ * than a walk over every event. The length of every event is counted, so removing the longest one brings
+ * the scan back down.
+ */
+public class DateIndex {
+    private static final Comparator<Task> BY_DATE =
+            Comparator.comparing(Task::getDate).thenComparingInt(Task::getId);
+
+    private final TreeMap<LocalDateTime, List<Task>> deadlines = new TreeMap<>();
+    private final TreeMap<LocalDateTime, List<Task>> openDeadlines = new TreeMap<>();
+    private final TreeMap<LocalDateTime, List<Task>> eventsByStart = new TreeMap<>();
+    // How many events there are of each length, longest last
+    private final TreeMap<Duration, Integer> eventLengths = new TreeMap<>();
+
+    public void add(Task task) {
+        if (task instanceof Deadline && task.getDate() != null) {
+            put(deadlines, task.getDate(), task);
+            if (!task.isDone()) {
+                put(openDeadlines, task.getDate(), task);
+            }
+        } else if (task instanceof Event && task.getDate() != null) {
+            put(eventsByStart, task.getDate(), task);
+            eventLengths.merge(length((Event) task), 1, Integer::sum);
+        }
+    }
+
+    public void remove(Task task) {
+        if (task instanceof Deadline && task.getDate() != null) {
+            take(deadlines, task.getDate(), task);
+            take(openDeadlines, task.getDate(), task);
+        } else if (task instanceof Event && task.getDate() != null) {
+            if (take(eventsByStart, task.getDate(), task)) {
+                eventLengths.computeIfPresent(length((Event) task), (length, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    public void clear() {
+        deadlines.clear();
+        openDeadlines.clear();
+        eventsByStart.clear();
+        eventLengths.clear();
+    }
+
+    /**
+     * Finds the deadlines due and the events happening between two moments, both included.
+     *
+     * @return The tasks, earliest first.
+     */
+    public List<Task> between(LocalDateTime from, LocalDateTime to) {
+        List<Task> tasks = new ArrayList<>();
+        if (to.isBefore(from)) {
+            return tasks;
+        }
+        addAll(tasks, deadlines.subMap(from, true, to, true).values());
+        for (List<Task> events : eventsByStart.subMap(from.minus(getLongestEvent()), true, to, true).values()) {
+            for (Task event : events) {
+                if (!end((Event) event).isBefore(from)) {
+                    tasks.add(event);
+                }
+            }
+        }
+        tasks.sort(BY_DATE);
+        return tasks;
+    }
+
+    /**
+     * Finds the deadlines that are not done and were due before a moment.
+     *
+     * @return The tasks, earliest first.
+     */
+    public List<Task> overdue(LocalDateTime now) {
+        List<Task> tasks = new ArrayList<>();
+        addAll(tasks, openDeadlines.headMap(now, false).values());
+        return tasks;
+    }
+
+    /**
+     * @return How long the longest event in the index lasts, or zero if there are none.
+     */
+    public Duration getLongestEvent() {
+        return eventLengths.isEmpty() ? Duration.ZERO : eventLengths.lastKey();
+    }
+
+    private static Duration length(Event event) {
+        return Duration.between(event.getFromDate(), end(event));
+    }
+
+    private static LocalDateTime end(Event event) {
+        LocalDateTime end = event.getToDate();
+        return end == null || end.isBefore(event.getFromDate()) ? event.getFromDate() : end;
+    }
+
+    private static void addAll(List<Task> tasks, Collection<List<Task>> buckets) {
+        for (List<Task> bucket : buckets) {
+            tasks.addAll(bucket);
+        }
+    }
+
+    private static void put(TreeMap<LocalDateTime, List<Task>> map, LocalDateTime date, Task task) {
+        map.computeIfAbsent(date, key -> new ArrayList<>(1)).add(task);
+    }
+
+    /**
+     * @return true if the task was there.
+     */
+    private static boolean take(TreeMap<LocalDateTime, List<Task>> map, LocalDateTime date, Task task) {
+        List<Task> bucket = map.get(date);
+        if (bucket == null) {
+            return false;
+        }
+        boolean isRemoved = bucket.remove(task);
+        if (bucket.isEmpty()) {
+            map.remove(date);
+        }
+        return isRemoved;
+    }
+}
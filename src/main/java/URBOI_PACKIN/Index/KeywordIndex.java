@@ -0,0 +1,230 @@
+package URBOI_PACKIN.Index;
+
+import URBOI_PACKIN.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maps every word in a task description to the ids of the tasks that contain it.
+ * Words are lower case and split on anything that is not a letter or digit. Each word keeps its ids
+ * sorted, and since ids only go up that is also list order.
+ */
+public class KeywordIndex {
+    private final TreeMap<String, Postings> postingsByWord = new TreeMap<>();
+    private final HashMap<Integer, Task> tasksById = new HashMap<>();
+
+    public void add(Task task) {
+        tasksById.put(task.getId(), task);
+        for (String word : tokenize(task.getDescription())) {
+            postingsByWord.computeIfAbsent(word, key -> new Postings()).add(task.getId());
+        }
+    }
+
+    /**
+     * Points the index at a new copy of a task, which must have the same id and description.
+     */
+    public void update(Task task) {
+        tasksById.replace(task.getId(), task);
+    }
+
+    public void remove(Task task) {
+        if (tasksById.remove(task.getId()) == null) {
+            return;
+        }
+        for (String word : tokenize(task.getDescription())) {
+            Postings postings = postingsByWord.get(word);
+            if (postings != null && postings.remove(task.getId()) && postings.size == 0) {
+                postingsByWord.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Removes several tasks, going over each word's ids once rather than once per task.
+     */
+    public void removeAll(Collection<Task> tasks) {
+        HashMap<String, Postings> removedByWord = new HashMap<>();
+        for (Task task : tasks) {
+            if (tasksById.remove(task.getId()) == null) {
+                continue;
+            }
+            for (String word : tokenize(task.getDescription())) {
+                removedByWord.computeIfAbsent(word, key -> new Postings()).add(task.getId());
+            }
+        }
+        for (Map.Entry<String, Postings> entry : removedByWord.entrySet()) {
+            Postings postings = postingsByWord.get(entry.getKey());
+            if (postings != null && postings.removeAll(entry.getValue()) && postings.size == 0) {
+                postingsByWord.remove(entry.getKey());
+            }
+        }
+    }
+
+    public void clear() {
+        postingsByWord.clear();
+        tasksById.clear();
+    }
+
+    /**
+     * Finds the tasks that have a word starting with each of the keywords.
+     *
+     * @param keywords The keywords, all of which must match. Case does not matter.
+     * @return The matching tasks in list order.
+     */
+    public List<Task> find(Collection<String> keywords) {
+        List<int[]> matches = new ArrayList<>();
+        for (String keyword : keywords) {
+            for (String word : tokenize(keyword)) {
+                int[] ids = idsWithPrefix(word);
+                if (ids.length == 0) {
+                    return new ArrayList<>();
+                }
+                matches.add(ids);
+            }
+        }
+        if (matches.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Start from the rarest keyword so every later step looks at as few ids as possible
+        matches.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] result = matches.get(0);
+        int resultSize = result.length;
+        for (int i = 1; i < matches.size() && resultSize > 0; i++) {
+            int[] other = matches.get(i);
+            int kept = 0;
+            int[] narrowed = new int[resultSize];
+            for (int j = 0; j < resultSize; j++) {
+                if (Arrays.binarySearch(other, result[j]) >= 0) {
+                    narrowed[kept++] = result[j];
+                }
+            }
+            result = narrowed;
+            resultSize = kept;
+        }
+
+        List<Task> tasks = new ArrayList<>(resultSize);
+        for (int i = 0; i < resultSize; i++) {
+            tasks.add(tasksById.get(result[i]));
+        }
+        return tasks;
+    }
+
+    /**
+     * Splits text into lower case words of letters and digits.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * @return The sorted, distinct ids of tasks with a word starting with the prefix.
+     */
+    private int[] idsWithPrefix(String prefix) {
+        NavigableMap<String, Postings> words =
+                postingsByWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (words.size() == 1) {
+            Postings postings = words.firstEntry().getValue();
+            return Arrays.copyOf(postings.ids, postings.size);
+        }
+        int total = 0;
+        for (Postings postings : words.values()) {
+            total += postings.size;
+        }
+        int[] ids = new int[total];
+        int offset = 0;
+        for (Postings postings : words.values()) {
+            System.arraycopy(postings.ids, 0, ids, offset, postings.size);
+            offset += postings.size;
+        }
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * A growable, sorted array of task ids.
+     */
+    private static class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                // Only happens when a word appears twice in one description, or for ids added out of order
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insertAt(-position - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Removes every id in another sorted list in one merge pass.
+         *
+         * @return true if any id was removed.
+         */
+        boolean removeAll(Postings removed) {
+            int kept = 0;
+            int r = 0;
+            for (int i = 0; i < size; i++) {
+                while (r < removed.size && removed.ids[r] < ids[i]) {
+                    r++;
+                }
+                if (r < removed.size && removed.ids[r] == ids[i]) {
+                    continue;
+                }
+                ids[kept++] = ids[i];
+            }
+            boolean isChanged = kept < size;
+            size = kept;
+            return isChanged;
+        }
+
+        private void insertAt(int position, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package URBOI_PACKIN;
 
+import URBOI_PACKIN.Metrics.StartupTimeline;
 import javafx.application.Application;
 
 /**
@@ -7,6 +8,8 @@ import javafx.application.Application;
  */
 public class Launcher {
     public static void main(String[] args) {
+        StartupTimeline.mark("main");
+        Main.prefetchTasks();
         Application.launch(Main.class, args);
     }
-}
\ No newline at end of file
+}
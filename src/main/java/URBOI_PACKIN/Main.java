@@ -1,32 +1,110 @@
 package URBOI_PACKIN;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import URBOI_PACKIN.Metrics.StartupTimeline;
 import URBOI_PACKIN.UI.MainWindow;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
 
 /**
  * A GUI for URBOI_PACKIN.ResponseController using FXML.
+ *
+ * The task list, the two pictures and the window layout are loaded side by side on background threads,
+ * and the window is shown as soon as the layout and pictures are ready. Commands typed before the tasks
+ * have finished loading wait for them off the FX thread. See StartupTimeline for how long each part took.
+ *
+ * Set -Durboi.exitAfterStartup=true to close again once everything is loaded, e.g. to time starting up
+ * or to record a class data sharing archive.
  */
 public class Main extends Application {
+    private static final String USER_IMAGE = "/images/crying.png";
+    private static final String DUKE_IMAGE = "/images/screaming.png";
+    // The pictures are only ever shown this big (see DialogBox.fxml), so they are decoded at this size
+    private static final double PICTURE_SIZE = 99;
 
-    private ResponseController responseController = new ResponseController();
+    private static CompletableFuture<ResponseController> responseController;
+
+    private FXMLLoader fxmlLoader;
+    private MainWindow mainWindow;
+    private CompletableFuture<AnchorPane> layout;
+    private CompletableFuture<Image> userImage;
+    private CompletableFuture<Image> dukeImage;
+
+    /**
+     * Starts reading the task list in the background. The launcher calls this before JavaFX starts up,
+     * so reading the tasks overlaps with that.
+     */
+    static synchronized CompletableFuture<ResponseController> prefetchTasks() {
+        if (responseController == null) {
+            responseController = StartupTimeline.prefetch("tasks", ResponseController::new);
+        }
+        return responseController;
+    }
+
+    /**
+     * Starts loading the layout and pictures. Runs on the JavaFX launcher thread once the toolkit is up.
+     */
+    @Override
+    public void init() {
+        prefetchTasks();
+        userImage = StartupTimeline.prefetch("user picture", () -> loadImage(USER_IMAGE));
+        dukeImage = StartupTimeline.prefetch("duke picture", () -> loadImage(DUKE_IMAGE));
+        fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
+        // Controls may be built on any thread until they are part of a showing window
+        layout = StartupTimeline.prefetch("layout", () -> {
+            try {
+                return fxmlLoader.<AnchorPane>load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 
     @Override
     public void start(Stage stage) {
         try {
-            FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
-            AnchorPane ap = fxmlLoader.load();
+            AnchorPane ap = layout.join();
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setImages(userImage.join(), dukeImage.join());
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setDuke(responseController);
             stage.show();
+            StartupTimeline.windowShown();
+            mainWindow.setDuke(responseController);
+            if (Boolean.getBoolean("urboi.exitAfterStartup")) {
+                responseController.thenRun(() -> Platform.runLater(Platform::exit));
+            }
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    /**
+     * Saves any changes still waiting when the window is closed without "bye", once the commands already
+     * typed have run.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.close();
+        }
+    }
+
+    private static Image loadImage(String resource) {
+        try (InputStream stream = Main.class.getResourceAsStream(resource)) {
+            return new Image(stream, PICTURE_SIZE, PICTURE_SIZE, true, true);
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new UncheckedIOException(e);
         }
     }
-}
\ No newline at end of file
+}
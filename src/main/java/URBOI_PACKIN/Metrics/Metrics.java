@@ -0,0 +1,174 @@
+package URBOI_PACKIN.Metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and counters for the whole app, shared by every task list.
+ *
+ * Timers are LatencyHistograms named after what they time: "command list", "command todo", ..., "load" for
+ * reading a task list (of which "parse" is reading the task file), "save" for saving one, "snapshot" for
+ * writing a whole task file and "archive load" for reading an archive segment. Counters count bytes and
+ * lines read and written and things that went wrong.
+ *
+ * Set -Durboi.metrics=false to stop measuring altogether. Set -Durboi.metricsFile=path to have every
+ * timer and counter appended to that file once a minute, or every -Durboi.metricsEvery=N seconds.
+ */
+public final class Metrics {
+    public static final String LOAD = "load";
+    public static final String PARSE = "parse";
+    public static final String SAVE = "save";
+    public static final String SNAPSHOT = "snapshot";
+    public static final String ARCHIVE_LOAD = "archive load";
+    public static final String COMMAND_PREFIX = "command ";
+    public static final String LOADED_BYTES = "loaded bytes";
+    public static final String LOADED_LINES = "loaded lines";
+    public static final String MALFORMED_LINES = "malformed lines";
+    public static final String SAVED_BYTES = "saved bytes";
+    public static final String SAVED_LINES = "saved lines";
+    public static final String FAILED_COMMANDS = "failed commands";
+
+    private static final boolean IS_ENABLED = !"false".equals(System.getProperty("urboi.metrics"));
+    private static final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    static {
+        String dumpFile = System.getProperty("urboi.metricsFile");
+        if (IS_ENABLED && dumpFile != null) {
+            startDump(Paths.get(dumpFile), Long.getLong("urboi.metricsEvery", 60));
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * @return The time to pass to record() once the thing being timed is done.
+     */
+    public static long start() {
+        return IS_ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since start to a timer.
+     *
+     * @param name The timer.
+     * @param start What start() returned.
+     */
+    public static void record(String name, long start) {
+        if (IS_ENABLED) {
+            timer(name).record(System.nanoTime() - start);
+        }
+    }
+
+    public static void count(String name, long amount) {
+        if (IS_ENABLED) {
+            counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+        }
+    }
+
+    /**
+     * @return The timer with the name, created empty the first time it is asked for.
+     */
+    public static LatencyHistogram timer(String name) {
+        LatencyHistogram timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Counts a task file that was read.
+     */
+    public static void countLoad(long bytes, int lines, int malformedLines) {
+        count(LOADED_BYTES, bytes);
+        count(LOADED_LINES, lines);
+        count(MALFORMED_LINES, malformedLines);
+    }
+
+    public static long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Empties every timer and counter.
+     */
+    public static void reset() {
+        timers.clear();
+        counters.clear();
+    }
+
+    /**
+     * @return Every timer that has recorded something, sorted by name.
+     */
+    public static Map<String, LatencyHistogram> getTimers() {
+        return new TreeMap<>(timers);
+    }
+
+    /**
+     * @return Every counter and its value, sorted by name.
+     */
+    public static Map<String, Long> getCounters() {
+        TreeMap<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    /**
+     * Appends every timer and counter to a file now and then, for looking at later.
+     * Each line is "time,name,count,p50,p90,p99,max" with times in microseconds, or "time,name,value"
+     * for a counter.
+     *
+     * @param file The file to append to. It is created if needed.
+     * @param periodSeconds How often to write.
+     */
+    public static void startDump(Path file, long periodSeconds) {
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(file), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Appends every timer and counter to a file once. See startDump for the format.
+     */
+    public static void dump(Path file) {
+        String time = Instant.now().toString();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Map.Entry<String, LatencyHistogram> entry : getTimers().entrySet()) {
+                LatencyHistogram timer = entry.getValue();
+                out.write(time + "," + entry.getKey() + "," + timer.getCount()
+                        + "," + timer.getValueAtPercentile(50) / 1000
+                        + "," + timer.getValueAtPercentile(90) / 1000
+                        + "," + timer.getValueAtPercentile(99) / 1000
+                        + "," + timer.getMax() / 1000);
+                out.newLine();
+            }
+            for (Map.Entry<String, Long> entry : getCounters().entrySet()) {
+                out.write(time + "," + entry.getKey() + "," + entry.getValue());
+                out.newLine();
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+}
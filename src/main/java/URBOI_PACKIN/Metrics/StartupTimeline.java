@@ -0,0 +1,108 @@
+package URBOI_PACKIN.Metrics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Times starting the app, from when the process started until the window is up and the tasks are loaded.
+ *
+ * Slow parts of starting (reading the tasks, decoding the pictures, loading the window layout) run side by
+ * side on background threads through prefetch(), so the timeline has a line for each phase with when it
+ * finished and how long it took. Each phase is also a Metrics timer named "startup " and the phase, so
+ * "stats" shows it.
+ *
+ * Showing the window is expected to take at most -Durboi.startupBudget ms (500 by default); if it takes
+ * longer, the timeline is printed. Set -Durboi.startupLog=true to print it every time.
+ */
+public final class StartupTimeline {
+    public static final String PREFIX = "startup ";
+    private static final boolean IS_LOGGED = Boolean.getBoolean("urboi.startupLog");
+    private static final long BUDGET_MILLIS = Long.getLong("urboi.startupBudget", 500);
+
+    private static final ExecutorService loader = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "startup-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final List<String> timeline = new ArrayList<>();
+    private static final long startMillis = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Runs a phase on a background thread and times it.
+     *
+     * @param phase What the phase does, e.g. "tasks".
+     */
+    public static <T> CompletableFuture<T> prefetch(String phase, Supplier<T> work) {
+        return CompletableFuture.supplyAsync(() -> time(phase, work), loader);
+    }
+
+    /**
+     * Runs a phase on this thread and times it.
+     */
+    public static <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long took = System.nanoTime() - start;
+            if (Metrics.isEnabled()) {
+                Metrics.timer(PREFIX + phase).record(took);
+            }
+            log(phase + " took " + took / 1_000_000 + " ms");
+        }
+    }
+
+    /**
+     * Notes that something happened, e.g. "main" when the launcher starts running.
+     */
+    public static void mark(String event) {
+        log(event);
+    }
+
+    /**
+     * Notes that the window is showing, printing the timeline if that took longer than the budget.
+     */
+    public static void windowShown() {
+        long elapsed = getElapsedMillis();
+        mark("window shown");
+        if (elapsed > BUDGET_MILLIS && !IS_LOGGED) {
+            System.out.println("Showing the window took " + elapsed + " ms, over the " + BUDGET_MILLIS
+                    + " ms budget:\n" + String.join("\n", getTimeline()));
+        }
+    }
+
+    /**
+     * @return One line per phase or event so far, in the order they finished, e.g. "+212 ms tasks took 180 ms".
+     */
+    public static List<String> getTimeline() {
+        synchronized (timeline) {
+            return new ArrayList<>(timeline);
+        }
+    }
+
+    /**
+     * @return The time since the process started.
+     */
+    public static long getElapsedMillis() {
+        return System.currentTimeMillis() - startMillis;
+    }
+
+    private static void log(String what) {
+        String line = "+" + getElapsedMillis() + " ms " + what;
+        synchronized (timeline) {
+            timeline.add(line);
+        }
+        if (IS_LOGGED) {
+            System.out.println("[startup] " + line);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package URBOI_PACKIN.Reminders;
+
+import URBOI_PACKIN.Storage.TaskListener;
+import URBOI_PACKIN.Task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Reminds the user of deadlines and events a while before they are due.
+ *
+ * It listens to a TaskRepository, so each task added, marked or deleted only schedules or cancels its
+ * own reminder in a TimerWheel and the list is never scanned for what is due. Tasks that are done, have
+ * no date, or are already due get no reminder. A task whose reminder time has passed but which is not
+ * due yet is reminded of straight away.
+ *
+ * Reminders are sent from the "reminders" thread once start() is called, or by calling sendDue().
+ */
+public class ReminderScheduler implements TaskListener, AutoCloseable {
+    private static final long TICK_MILLIS = 1000;
+
+    private final long leadMillis;
+    private final Consumer<String> notifier;
+    private final LongSupplier clock;
+    private final TimerWheel<Task> wheel;
+    private final HashMap<Integer, TimerWheel.Timeout<Task>> reminders = new HashMap<>();
+    private Thread thread;
+    private boolean isClosed = false;
+
+    /**
+     * @param leadMillis How long before a task is due to remind the user of it.
+     * @param notifier Given the text of each reminder. Called without any lock held.
+     * @param clock Gives the current time in milliseconds, e.g. System::currentTimeMillis.
+     */
+    public ReminderScheduler(long leadMillis, Consumer<String> notifier, LongSupplier clock) {
+        this.leadMillis = leadMillis;
+        this.notifier = notifier;
+        this.clock = clock;
+        this.wheel = new TimerWheel<>(TICK_MILLIS, clock.getAsLong());
+    }
+
+    /**
+     * Starts a daemon thread that sends reminders as they fall due.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::run, "reminders");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Sends every reminder that is due by now.
+     *
+     * @return The number sent.
+     */
+    public int sendDue() {
+        List<Task> due;
+        synchronized (this) {
+            due = wheel.advanceTo(clock.getAsLong());
+            for (Task task : due) {
+                reminders.remove(task.getId());
+            }
+        }
+        for (Task task : due) {
+            notifier.accept("Reminder: " + task);
+        }
+        return due.size();
+    }
+
+    /**
+     * @return The number of reminders waiting.
+     */
+    public synchronized int size() {
+        return reminders.size();
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        schedule(task);
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        cancel(task.getId());
+    }
+
+    @Override
+    public synchronized void taskChanged(Task task, Task updated) {
+        cancel(task.getId());
+        schedule(updated);
+    }
+
+    @Override
+    public synchronized void tasksReloaded(List<Task> tasks) {
+        for (TimerWheel.Timeout<Task> timeout : reminders.values()) {
+            wheel.cancel(timeout);
+        }
+        reminders.clear();
+        for (Task task : tasks) {
+            schedule(task);
+        }
+    }
+
+    /**
+     * Stops the thread. Reminders still waiting are not sent.
+     */
+    @Override
+    public synchronized void close() {
+        isClosed = true;
+        notifyAll();
+    }
+
+    private void schedule(Task task) {
+        LocalDateTime date = task.getDate();
+        if (task.isDone() || date == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long dueMillis = date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (dueMillis <= now) {
+            return;
+        }
+        if (reminders.isEmpty()) {
+            // The wheel's clock stands still while it is empty; catch it up so nothing is due late
+            wheel.advanceTo(now);
+        }
+        reminders.put(task.getId(), wheel.schedule(dueMillis - leadMillis, task));
+        // The thread may be waiting with nothing to do
+        notifyAll();
+    }
+
+    private void cancel(int id) {
+        TimerWheel.Timeout<Task> timeout = reminders.remove(id);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            synchronized (this) {
+                try {
+                    long wait = wheel.getNextTickMillis() - clock.getAsLong();
+                    while (!isClosed && (reminders.isEmpty() || wait > 0)) {
+                        wait(reminders.isEmpty() ? 0 : wait);
+                        wait = wheel.getNextTickMillis() - clock.getAsLong();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (isClosed) {
+                    return;
+                }
+            }
+            sendDue();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package URBOI_PACKIN.Reminders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds things to do at given times in a hierarchical timing wheel, so scheduling and cancelling are O(1)
+ * however many are waiting, and moving the clock forward only looks at what is due.
+ *
+ * Time is counted in ticks. The first wheel has a slot for each of the next 256 ticks, the second a slot
+ * for each of the next 256 runs of 256 ticks, and so on for four wheels (about 136 years at one tick a
+ * second). Every slot is a linked list. Whenever the first wheel comes round, the next slot of the wheel
+ * above is emptied into the wheels below, so every entry is moved at most three times before it is due.
+ *
+ * Not thread safe; the caller locks around it.
+ *
+ * @param <T> What is scheduled.
+ */
+public class TimerWheel<T> {
+    private static final int SLOT_BITS = 8;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Timeout<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis How long one tick is. Things are done at the first tick at or after their time.
+     * @param nowMillis The time to start the clock at.
+     */
+    public TimerWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        // Only ever holds Timeout<T>, so the cast is safe
+        @SuppressWarnings("unchecked")
+        Timeout<T>[][] wheels = (Timeout<T>[][]) new Timeout<?>[LEVELS][SLOT_COUNT];
+        this.wheels = wheels;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules something. A time that has already passed is due at the next tick.
+     *
+     * @return A handle for cancelling it.
+     */
+    public Timeout<T> schedule(long atMillis, T item) {
+        long tick = Math.max(currentTick + 1, Math.floorDiv(atMillis + tickMillis - 1, tickMillis));
+        Timeout<T> timeout = new Timeout<>(tick, item);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * @return true if it was still waiting, false if it was already done or cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.level < 0) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @return Everything due by the given time, in the order it was due.
+     */
+    public List<T> advanceTo(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            Timeout<T> timeout = wheels[0][(int) (currentTick & SLOT_MASK)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                unlink(timeout);
+                size--;
+                due.add(timeout.item);
+                timeout = next;
+            }
+        }
+        return due;
+    }
+
+    /**
+     * @return The time of the next tick, when advancing could next find something due.
+     */
+    public long getNextTickMillis() {
+        return (currentTick + 1) * tickMillis;
+    }
+
+    /**
+     * When the lower wheels come round, empties the next slot of each wheel above into the wheels below.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            long lowerBits = currentTick & ((1L << (SLOT_BITS * level)) - 1);
+            if (lowerBits != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout<T> timeout = wheels[level][slot];
+            wheels[level][slot] = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.previous = null;
+                timeout.next = null;
+                insert(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        long ticksAway = timeout.tick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && ticksAway >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        // Anything further away than the top wheel reaches waits in its last slot and is placed again later
+        long tick = level == LEVELS - 1 && ticksAway >= 1L << (SLOT_BITS * LEVELS)
+                ? currentTick + (1L << (SLOT_BITS * LEVELS)) - 1
+                : timeout.tick;
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.previous = null;
+        timeout.next = wheels[level][slot];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        wheels[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            wheels[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    /**
+     * One scheduled thing, kept in the linked list of its slot.
+     */
+    public static final class Timeout<T> {
+        private final long tick;
+        private final T item;
+        private int level;
+        private int slot;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(long tick, T item) {
+            this.tick = tick;
+            this.item = item;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
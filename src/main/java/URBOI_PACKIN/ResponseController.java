@@ -1,22 +1,69 @@
 package URBOI_PACKIN;
 
-import URBOI_PACKIN.Storage.Storage;
-import URBOI_PACKIN.TaskTypes.Deadline;
-import URBOI_PACKIN.TaskTypes.Event;
-import URBOI_PACKIN.TaskTypes.Todo;
+import URBOI_PACKIN.Commands.ByeCommand;
+import URBOI_PACKIN.Commands.Command;
+import URBOI_PACKIN.Commands.CommandInput;
+import URBOI_PACKIN.Commands.CommandRegistry;
+import URBOI_PACKIN.Metrics.Metrics;
+import URBOI_PACKIN.Reminders.ReminderScheduler;
+import URBOI_PACKIN.Storage.AtomicSnapshotWriter;
+import URBOI_PACKIN.Storage.SaveScheduler;
+import URBOI_PACKIN.Storage.TaskRepository;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Scanner;
-import java.util.ArrayList;
-import java.io.*;
-
-import static URBOI_PACKIN.Storage.Storage.loadTasksFromFile;
-import static URBOI_PACKIN.Storage.Storage.saveTasksToFile;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Runs commands against one task list. Safe to share between threads: commands that change the list run
+ * one at a time, while commands that only read it work on the list as published by the last change and
+ * never wait. Either way every command sees the list wholly before or wholly after any other change.
+ *
+ * Changes are not saved one by one. A SaveScheduler saves them together shortly afterwards, and "bye"
+ * saves whatever is still waiting.
+ *
+ * Once something listens for reminders, deadlines and events are reminded of a while before they are due.
+ */
 public class ResponseController {
     //private static final String FILE_PATH = "src/main/java/tasks.txt";
-    private static final String FILE_PATH = "tasks.txt/";
+    private static final String FILE_PATH = "tasks.txt";
+    private static final int BACKUP_COUNT = 3;
+    // Changes wait at most this long to be saved, set with -Durboi.saveDelay=ms
+    private static final int SAVE_DELAY_MILLIS = Integer.getInteger("urboi.saveDelay", 200);
+    // ...or until this many are waiting, set with -Durboi.saveBatch=N
+    private static final int SAVE_BATCH = Integer.getInteger("urboi.saveBatch", 1000);
+    // Tasks are reminded of this many minutes before they are due, set with -Durboi.remindBefore=minutes
+    private static final long REMIND_BEFORE_MILLIS = Long.getLong("urboi.remindBefore", 60) * 60_000;
+
+    private final TaskRepository tasks;
+    private final CommandRegistry commands = CommandRegistry.createDefault();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final SaveScheduler saver;
+    private final CopyOnWriteArrayList<Consumer<String>> reminderListeners = new CopyOnWriteArrayList<>();
+    private ReminderScheduler reminders;
+    private volatile boolean isAutoSave = true;
+    private volatile boolean isWaitForSave = false;
+
+    public ResponseController() {
+        this(FILE_PATH);
+    }
+
+    /**
+     * Creates a controller for a journaled task file whose snapshots are forced to disk and backed up.
+     */
+    public ResponseController(String filePath) {
+        this(new TaskRepository(filePath, true));
+        tasks.setSnapshotWriter(new AtomicSnapshotWriter(filePath, true, BACKUP_COUNT));
+    }
+
+    public ResponseController(TaskRepository tasks) {
+        this.tasks = tasks;
+        this.saver = new SaveScheduler(tasks, SAVE_DELAY_MILLIS, SAVE_BATCH);
+        tasks.setDeferJournalWrites(true);
+    }
 
     /**
      * Process user input and generate a response.
@@ -25,105 +72,117 @@ public class ResponseController {
      * @return A response generated by URBOI.
      */
     public String getResponse(String command) {
-        ArrayList<Task> tasks = new ArrayList<>(100);
-        loadTasksFromFile(tasks);
-        StringBuilder response = new StringBuilder();
-        try{
-            if (command.equalsIgnoreCase("bye")) {
-                response.append("Bye. Hope to see you again soon!");
-            } else if (command.equalsIgnoreCase("list")) {
-                response.append("Here are the tasks in your list:\n");
-                for (int i = 0; i < tasks.size(); i++) {
-                    response.append((i + 1) + ". " + tasks.get(i) + "\n");
-                }
-            } else if (command.startsWith("todo")) {
-                String description = command.substring(5).trim();
-                if (description.isEmpty()) {
-                    throw new DukeException("The description of a todo cannot be empty.");
-                }
-                tasks.add(new Todo(description));
-                response.append("Got it. I've added this task:\n  " + tasks.get(tasks.size() - 1));
-                response.append("Now you have " + tasks.size() + " tasks in the list.");
-            } else if (command.startsWith("deadline")) {
-                // Parse the date and time in the format d/M/yyyy HHmm
-                String[] parts = command.split(" /by ");
-                if (parts.length < 2) {
-                    throw new DukeException("URBOI_PACKIN.TaskTypes.Deadline command must include a date.");
-                }
-                String description = parts[0].substring(9).trim();
-                LocalDateTime dateTime = LocalDateTime.parse(parts[1], DateTimeFormatter.ofPattern("d/M/yyyy HHmm"));
-
-                tasks.add(new Deadline(description, dateTime));
-                response.append("Got it. I've added this task:\n  " + tasks.get(tasks.size() - 1));
-                response.append("Now you have " + tasks.size() + " tasks in the list.");
-            } else if (command.startsWith("event")) {
-                String description = command.substring(6, command.indexOf("/from")).trim();
-                String from = command.substring(command.indexOf("/from") + 6, command.indexOf("/to")).trim();
-                String to = command.substring(command.indexOf("/to") + 4).trim();
-                tasks.add(new Event(description, from, to));
-                response.append("Got it. I've added this task:\n  " + tasks.get(tasks.size() - 1));
-                response.append("Now you have " + tasks.size() + " tasks in the list.");
-            } else if (command.startsWith("mark")) {
-                int index = Integer.parseInt(command.split(" ")[1]) - 1;
-                if (index >= 0 && index < tasks.size()) {
-                    tasks.get(index).markDone();
-                    response.append("Nice! I've marked this task as done:\n  " + tasks.get(index));
-                } else {
-                    response.append("Invalid task index.");
-                }
-            } else if (command.startsWith("unmark")) {
-                int index = Integer.parseInt(command.split(" ")[1]) - 1;
-                if (index >= 0 && index < tasks.size()) {
-                    tasks.get(index).markNotDone();
-                    response.append("OK, I've marked this task as not done yet:\n  " + tasks.get(index));
-                } else {
-                    response.append("Invalid task index.");
-                }
-            }  else if (command.startsWith("delete")) {
-                int index = Integer.parseInt(command.split(" ")[1]) - 1;
-                if (index >= 0 && index < tasks.size()) {
-                    Task removedTask = tasks.remove(index);
-                    response.append("Noted. I've removed this task:\n  " + removedTask);
-                    response.append("Now you have " + tasks.size() + " tasks in the list.");
-                } else {
-                    response.append("Invalid task index.");
+        long start = Metrics.start();
+        // Unknown words share one timer, so typing nonsense cannot create any number of them
+        String timer = Metrics.COMMAND_PREFIX + "?";
+        if (tasks.isChangedOnDisk()) {
+            writeLock.lock();
+            try {
+                tasks.refreshIfChanged();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        try {
+            CommandInput input = CommandInput.parse(command);
+            Command handler = commands.get(input.getVerb());
+            timer = Metrics.COMMAND_PREFIX + input.getVerb();
+            if (handler instanceof ByeCommand) {
+                saver.flush();
+            }
+            if (!handler.isMutating()) {
+                return handler.execute(tasks, input);
+            }
+            String response;
+            CompletableFuture<Void> saved = null;
+            writeLock.lock();
+            try {
+                response = handler.execute(tasks, input);
+                if (isAutoSave) {
+                    saved = saver.changed();
                 }
-            } else if (command.startsWith("find")) {
-                String keyword = command.substring(5).trim();
-                findTasks(tasks, keyword);
-            } else {
-                throw new DukeException("I'm sorry, but I don't know what that means :-(");
+            } finally {
+                writeLock.unlock();
+            }
+            if (saved != null && isWaitForSave) {
+                saver.saveSoon();
+                saved.join();
             }
-            saveTasksToFile(tasks);
+            return response;
         } catch (DukeException e) {
-            response.append("☹ OOPS!!! " + e.getMessage());
+            Metrics.count(Metrics.FAILED_COMMANDS, 1);
+            return "☹ OOPS!!! " + e.getMessage();
+        } catch (IOException e) {
+            Metrics.count(Metrics.FAILED_COMMANDS, 1);
+            return "☹ OOPS!!! I couldn't save your tasks: " + e.getMessage();
+        } catch (CompletionException e) {
+            Metrics.count(Metrics.FAILED_COMMANDS, 1);
+            return "☹ OOPS!!! I couldn't save your tasks: " + e.getCause().getMessage();
+        } finally {
+            Metrics.record(timer, start);
         }
-        return response.toString();
     }
 
+    /**
+     * Turns saving changes on or off. When it is off the caller has to save the tasks.
+     */
+    public void setAutoSave(boolean isAutoSave) {
+        this.isAutoSave = isAutoSave;
+    }
 
-    private static void findTasks(ArrayList<Task> tasks, String keyword) {
-        System.out.println("Here are the matching tasks in your list:");
-        int count = 0;
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            if (task.getDescription().contains(keyword)) {
-                System.out.println((count + 1) + ". " + task);
-                count++;
+    /**
+     * Makes a changing command wait until its change is on disk before answering. Commands arriving
+     * together from several threads still share one save.
+     */
+    public void setWaitForSave(boolean isWaitForSave) {
+        this.isWaitForSave = isWaitForSave;
+    }
+
+    /**
+     * Sends reminders to a listener, starting the reminders the first time one is added.
+     *
+     * @param listener Given the text of each reminder, on the reminder thread.
+     */
+    public synchronized void addReminderListener(Consumer<String> listener) {
+        reminderListeners.add(listener);
+        if (reminders == null) {
+            reminders = new ReminderScheduler(REMIND_BEFORE_MILLIS, this::sendReminder, System::currentTimeMillis);
+            writeLock.lock();
+            try {
+                tasks.addListener(reminders);
+                reminders.tasksReloaded(tasks.getTasks());
+            } finally {
+                writeLock.unlock();
             }
-        }
-        if (count == 0) {
-            System.out.println("No matching tasks found.");
+            reminders.start();
         }
     }
-}
 
+    public void removeReminderListener(Consumer<String> listener) {
+        reminderListeners.remove(listener);
+    }
 
-/**
- * Custom exception class for URBOI_PACKIN.ResponseController-specific exceptions.
- */
-class DukeException extends Exception {
-    public DukeException(String message) {
-        super(message);
+    /**
+     * @return The saver that writes this controller's changes to disk.
+     */
+    public SaveScheduler getSaver() {
+        return saver;
+    }
+
+    /**
+     * @return The commands this controller understands. Register a Command here to add a new one.
+     */
+    public CommandRegistry getCommands() {
+        return commands;
     }
-}
\ No newline at end of file
+
+    public TaskRepository getTasks() {
+        return tasks;
+    }
+
+    private void sendReminder(String text) {
+        for (Consumer<String> listener : reminderListeners) {
+            listener.accept(text);
+        }
+    }
+}
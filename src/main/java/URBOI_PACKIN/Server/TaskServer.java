@@ -0,0 +1,233 @@
+package URBOI_PACKIN.Server;
+
+import URBOI_PACKIN.Commands.ExportCommand;
+import URBOI_PACKIN.Commands.ImportCommand;
+import URBOI_PACKIN.ResponseController;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the chatbot to many users at once over a local TCP port.
+ *
+ * The protocol is line based. The client sends one command per line, and the server answers each one with
+ * the response lines followed by a line holding a single ".". A response line that starts with "." or "!" gets
+ * a "." in front, which the client should strip. Between responses the server may send a reminder about the
+ * user's tasks as a single line starting with "! ". "user &lt;name&gt;" switches the connection to that
+ * user's own task list (stored as &lt;name&gt;.txt in the data folder), and "bye" ends the connection.
+ * "import" and "export" only use files in the user's own folder, &lt;name&gt;.files in the data folder.
+ *
+ * Every connection runs on its own thread. Connections using the same task list share one ResponseController,
+ * which lets reads run side by side and runs each change on its own. A change is on disk before its response
+ * is sent, and changes from sessions that arrive together are saved together.
+ *
+ * Usage: TaskServer [--port 7878] [--dir data]
+ */
+public class TaskServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7878;
+    public static final String DEFAULT_USER = "default";
+    private static final String DEFAULT_DIRECTORY = "data";
+    private static final String END_OF_RESPONSE = ".";
+    private static final String REMINDER = "!";
+    // User names have no dots, so a user's folder never clashes with another user's task file
+    private static final String FILES_SUFFIX = ".files";
+    private static final Pattern USER_NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private final ServerSocket serverSocket;
+    private final Path directory;
+    private final ConcurrentHashMap<String, ResponseController> controllers = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "session-" + sessionCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Opens the server socket on the loopback address. Nothing is served until serve() is called.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @param directory The folder holding one task file per user. It is created if needed.
+     * @throws IOException If the folder could not be created or the port could not be opened.
+     */
+    public TaskServer(int port, String directory) throws IOException {
+        this.directory = Paths.get(directory);
+        Files.createDirectories(this.directory);
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed, handing each one to its own session thread.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.execute(() -> runSession(socket));
+            } catch (SocketException e) {
+                // The server socket was closed
+            } catch (IOException e) {
+                System.out.println("Error accepting connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and saves every user's tasks. Open sessions are not waited for.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+        for (ResponseController controller : controllers.values()) {
+            controller.getResponse("bye");
+        }
+    }
+
+    /**
+     * @return The controller for a user's task list, created the first time the user is seen. Names ignore
+     *     case, so "Alice" and "alice" share a list and its files on every file system.
+     */
+    ResponseController getController(String user) {
+        return controllers.computeIfAbsent(user.toLowerCase(Locale.ROOT), name -> {
+            ResponseController controller = new ResponseController(directory.resolve(name + ".txt").toString());
+            controller.setWaitForSave(true);
+            // Clients may only import and export files in a folder of their own
+            Path files = directory.resolve(name + FILES_SUFFIX);
+            controller.getCommands().register("import", new ImportCommand(files));
+            controller.getCommands().register("export", new ExportCommand(files));
+            return controller;
+        });
+    }
+
+    private void runSession(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String user = DEFAULT_USER;
+            ResponseController controller = getController(user);
+            Consumer<String> reminders = text -> sendReminder(out, text);
+            controller.addReminderListener(reminders);
+            try {
+                runCommands(in, out, user, controller, reminders);
+            } finally {
+                controllers.values().forEach(c -> c.removeReminderListener(reminders));
+            }
+        } catch (IOException e) {
+            System.out.println("Session ended with an error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Answers the session's commands until it says "bye" or disconnects, moving the reminder listener
+     * along when it switches user.
+     */
+    private void runCommands(BufferedReader in, BufferedWriter out, String user, ResponseController controller,
+            Consumer<String> reminders) throws IOException {
+        send(out, "Wazzup! You are using the task list '" + user + "'. Type 'user <name>' to switch.");
+        String line;
+        while ((line = in.readLine()) != null) {
+            String trimmed = line.trim();
+            String lower = trimmed.toLowerCase(Locale.ROOT);
+            if (lower.equals("user") || lower.startsWith("user ")) {
+                String name = trimmed.substring(4).trim();
+                if (USER_NAME.matcher(name).matches()) {
+                    user = name.toLowerCase(Locale.ROOT);
+                    controller.removeReminderListener(reminders);
+                    controller = getController(user);
+                    controller.addReminderListener(reminders);
+                    send(out, "You are now using the task list '" + user + "'.");
+                } else {
+                    send(out, "☹ OOPS!!! A user name can only have up to 32 letters, digits, _ and -.");
+                }
+                continue;
+            }
+            send(out, controller.getResponse(line));
+            if (trimmed.equalsIgnoreCase("bye")) {
+                break;
+            }
+        }
+    }
+
+    private static void send(BufferedWriter out, String response) throws IOException {
+        synchronized (out) {
+            for (String line : response.split("\n")) {
+                if (line.startsWith(END_OF_RESPONSE) || line.startsWith(REMINDER)) {
+                    out.write(END_OF_RESPONSE);
+                }
+                out.write(line);
+                out.write('\n');
+            }
+            out.write(END_OF_RESPONSE);
+            out.write('\n');
+            out.flush();
+        }
+    }
+
+    /**
+     * Pushes a reminder to a session as one "! " line. It waits for a response being written to finish,
+     * so it never lands in the middle of one.
+     */
+    private static void sendReminder(BufferedWriter out, String text) {
+        synchronized (out) {
+            try {
+                out.write(REMINDER + " " + text.replace('\n', ' '));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                // The session is closing and is about to stop listening
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        String directory = DEFAULT_DIRECTORY;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--port")) {
+                port = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--dir")) {
+                directory = args[i + 1];
+            }
+        }
+        try {
+            TaskServer server = new TaskServer(port, directory);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException e) {
+                    System.out.println("Error stopping server: " + e.getMessage());
+                }
+            }));
+            System.out.println("Serving tasks from " + directory + " on port " + server.getPort());
+            server.serve();
+        } catch (IOException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
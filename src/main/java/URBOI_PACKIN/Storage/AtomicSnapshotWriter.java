@@ -0,0 +1,129 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Metrics.Metrics;
+import URBOI_PACKIN.Task;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes the whole task list so that the file on disk is always either the old list or the new one.
+ * The tasks are written to a temp file next to the target, optionally forced to disk, and then moved over
+ * the target in one step. The previous versions can be kept as numbered backups (tasks.txt.1, tasks.txt.2, ...).
+ */
+public class AtomicSnapshotWriter {
+    public static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path target;
+    private final TaskFormat format;
+    private final boolean isDurable;
+    private final int backupCount;
+
+    /**
+     * @param filePath The file to replace. Its name decides the format, see TaskFormat.forFile.
+     * @param isDurable Whether to force the data to disk before the file is replaced.
+     * @param backupCount How many previous versions of the file to keep.
+     */
+    public AtomicSnapshotWriter(String filePath, boolean isDurable, int backupCount) {
+        this(filePath, TaskFormat.forFile(filePath), isDurable, backupCount);
+    }
+
+    public AtomicSnapshotWriter(String filePath, TaskFormat format, boolean isDurable, int backupCount) {
+        this.target = Paths.get(filePath);
+        this.format = format;
+        this.isDurable = isDurable;
+        this.backupCount = backupCount;
+    }
+
+    /**
+     * Replaces the target file with the given tasks.
+     *
+     * @param tasks The tasks to write.
+     * @throws IOException If the new file could not be written. The old file is left untouched.
+     */
+    public void write(List<Task> tasks) throws IOException {
+        long start = Metrics.start();
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            format.write(tasks, channel);
+            Metrics.count(Metrics.SAVED_BYTES, channel.position());
+            Metrics.count(Metrics.SAVED_LINES, tasks.size());
+            if (isDurable) {
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        rotateBackups();
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isDurable) {
+            forceDirectory();
+        }
+        Metrics.record(Metrics.SNAPSHOT, start);
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    public TaskFormat getFormat() {
+        return format;
+    }
+
+    public boolean isDurable() {
+        return isDurable;
+    }
+
+    /**
+     * Shifts tasks.txt.1 to tasks.txt.2 and so on, then keeps the current file as tasks.txt.1.
+     * The current file is hard linked rather than moved so there is never a moment without a target file.
+     */
+    private void rotateBackups() throws IOException {
+        if (backupCount <= 0 || !Files.exists(target)) {
+            return;
+        }
+        Files.deleteIfExists(backup(backupCount));
+        for (int i = backupCount - 1; i >= 1; i--) {
+            if (Files.exists(backup(i))) {
+                Files.move(backup(i), backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        try {
+            Files.createLink(backup(1), target);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(target, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path backup(int generation) {
+        return target.resolveSibling(target.getFileName() + "." + generation);
+    }
+
+    /**
+     * Forces the directory entry for the rename to disk. Not every platform can open a directory, so
+     * failing here is not treated as an error.
+     */
+    private void forceDirectory() {
+        Path directory = target.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The file itself is already on disk
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compact binary layout for the task list.
+ *
+ * The file starts with the magic "URBT", a version byte and the number of tasks. Each task is a tag byte
+ * (type in the low bits, done flag in the top bit), its id as a varint (from version 2 on) and its
+ * description as a length-prefixed UTF-8 string. Deadlines add their date as seconds since the epoch
+ * (plus nanoseconds if there are any) and events add their start and end as two more strings.
+ * Lengths are written as varints.
+ */
+public class BinaryTaskFormat implements TaskFormat {
+    public static final String EXTENSION = ".bin";
+    static final int MAGIC = 0x55524254;
+    static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_IDS = 1;
+
+    private static final int TYPE_MASK = 0x0F;
+    private static final int TODO = 1;
+    private static final int DEADLINE = 2;
+    private static final int EVENT = 3;
+    private static final int HAS_NANOS = 0x40;
+    private static final int DONE = 0x80;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public List<String> read(String filePath, ArrayList<Task> tasks) throws IOException {
+        ByteBuffer buffer = MappedTaskParser.readFile(filePath);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary task file: " + filePath);
+            }
+            byte version = buffer.get();
+            if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+                throw new IOException("Unsupported binary task file version " + version + ": " + filePath);
+            }
+            int count = buffer.getInt();
+            // Every task takes at least its tag, id and description length, so a damaged count is caught
+            // before it is used to size the list
+            int minTaskBytes = version == VERSION ? 3 : 2;
+            if (count < 0 || count > buffer.remaining() / minTaskBytes) {
+                throw new IOException("Binary task file says it holds " + count + " tasks but is too short: "
+                        + filePath);
+            }
+            tasks.ensureCapacity(tasks.size() + count);
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < count; i++) {
+                int tag = buffer.get() & 0xFF;
+                int id = version == VERSION ? readVarint(buffer) : 0;
+                String description = readString(buffer, scratch);
+                Task task;
+                switch (tag & TYPE_MASK) {
+                    case TODO:
+                        task = new Todo(description);
+                        break;
+                    case DEADLINE:
+                        long epochSecond = buffer.getLong();
+                        int nano = (tag & HAS_NANOS) != 0 ? buffer.getInt() : 0;
+                        LocalDateTime date = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+                        task = new Deadline(description, date);
+                        break;
+                    case EVENT:
+                        task = new Event(description, readString(buffer, scratch), readString(buffer, scratch));
+                        break;
+                    default:
+                        throw new IOException("Unknown task type " + (tag & TYPE_MASK) + " for task " + (i + 1)
+                                + " in " + filePath);
+                }
+                if ((tag & DONE) != 0) {
+                    task.markDone();
+                }
+                task.setId(id);
+                tasks.add(task);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Binary task file is cut short: " + filePath);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void write(List<Task> tasks, WritableByteChannel channel) throws IOException {
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(tasks.size());
+        for (Task task : tasks) {
+            int tag = task.isDone() ? DONE : 0;
+            if (task instanceof Deadline) {
+                LocalDateTime date = task.getDate();
+                tag |= DEADLINE | (date.getNano() != 0 ? HAS_NANOS : 0);
+                out.writeByte(tag);
+                writeVarint(out, task.getId());
+                writeString(out, task.getDescription());
+                out.writeLong(date.toEpochSecond(ZoneOffset.UTC));
+                if (date.getNano() != 0) {
+                    out.writeInt(date.getNano());
+                }
+            } else if (task instanceof Event) {
+                Event event = (Event) task;
+                out.writeByte(tag | EVENT);
+                writeVarint(out, event.getId());
+                writeString(out, event.getDescription());
+                writeString(out, event.getFrom());
+                writeString(out, event.getTo());
+            } else {
+                out.writeByte(tag | TODO);
+                writeVarint(out, task.getId());
+                writeString(out, task.getDescription());
+            }
+        }
+        out.flush();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift > 28) {
+                throw new IOException("Bad varint in binary task file");
+            }
+            int b = buffer.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, byte[] scratch) throws IOException {
+        int length = readVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        if (buffer.hasArray()) {
+            String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,339 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.DateParser;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A task list for millions of tasks that keeps columns of primitives instead of one object per task:
+ * a type byte, an id, a done bit and a date (as epoch seconds) per task, and every task's text packed
+ * as UTF-8 into one shared byte array. A task costs about 20 bytes plus its text, where a Task object with
+ * its Strings and LocalDateTime costs well over 100, and the garbage collector has a handful of arrays to
+ * look at instead of millions of objects.
+ *
+ * get() builds an ordinary Task on demand. It is a copy: changing it does not change the store, so use
+ * setDone() and remove() instead. Like TaskSlots, ids only go up and new tasks go at the end.
+ *
+ * An event's text is its description, start and end as typed, each but the last preceded by its length
+ * in bytes as a varint. The other types only have a description, so they need no lengths.
+ *
+ * TaskArchive keeps each segment it has read in one of these, since archived tasks are only ever read.
+ */
+public class CompactTaskStore {
+    static final long NO_DATE = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private long[] dates = new long[INITIAL_CAPACITY];
+    private int[] textStarts = new int[INITIAL_CAPACITY + 1];
+    private final BitSet done = new BitSet();
+    // Dates are kept to the second; the few with a fraction of a second keep it here, by id
+    private final HashMap<Integer, Integer> nanosById = new HashMap<>();
+    private byte[] text = new byte[INITIAL_CAPACITY * 32];
+    private int textLength;
+    private int size;
+    private int lastId;
+
+    /**
+     * Reads a text task file straight into columns, without making a Task for each line.
+     * A task without an id, or with one that is not above the one before it, gets the next free id.
+     *
+     * @param tasks The store to add to.
+     * @return One message per malformed line, in the form "Line 3: ...". Empty if every line was fine.
+     * @throws IOException If the file could not be read.
+     */
+    public static List<String> load(String filePath, CompactTaskStore tasks) throws IOException {
+        if (!new File(filePath).exists()) {
+            return new ArrayList<>();
+        }
+        List<String> errors = MappedTaskParser.load(filePath, tasks);
+        tasks.trimToSize();
+        return errors;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a copy of a task at the end. A task without an id (id 0) is given the next one.
+     *
+     * @throws IllegalArgumentException If the task already has an id that is not above every id in the store.
+     */
+    public void add(Task task) {
+        int id = task.getId();
+        if (id != 0 && id <= lastId) {
+            throw new IllegalArgumentException("task id #" + id + " is not after #" + lastId);
+        }
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            addEvent(id, task.isDone(), utf8(task.getDescription()), event.getFrom(), event.getTo());
+        } else {
+            byte type = task instanceof Deadline ? (byte) 'D' : (byte) 'T';
+            byte[] description = utf8(task.getDescription());
+            add(id, type, task.isDone(), ByteBuffer.wrap(description), 0, description.length, task.getDate());
+        }
+    }
+
+    /**
+     * @param index The 0-based position in the list.
+     * @return A new Task holding what the store has for that position.
+     */
+    public Task get(int index) {
+        checkIndex(index);
+        int start = textStarts[index];
+        int end = textStarts[index + 1];
+        Task task;
+        switch (types[index]) {
+            case 'D':
+                task = new Deadline(decode(start, end), getDate(index));
+                break;
+            case 'E':
+                int[] position = {start};
+                int descriptionLength = readVarint(position);
+                int fromLength = readVarint(position);
+                int descriptionStart = position[0];
+                int fromStart = descriptionStart + descriptionLength;
+                int toStart = fromStart + fromLength;
+                task = new Event(decode(descriptionStart, fromStart), decode(fromStart, toStart),
+                        decode(toStart, end));
+                break;
+            default:
+                task = new Todo(decode(start, end));
+                break;
+        }
+        task.setId(ids[index]);
+        if (done.get(index)) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    public int getId(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    public boolean isDone(int index) {
+        checkIndex(index);
+        return done.get(index);
+    }
+
+    /**
+     * @return The deadline, or an event's start if it is a date; null otherwise.
+     */
+    public LocalDateTime getDate(int index) {
+        checkIndex(index);
+        if (dates[index] == NO_DATE) {
+            return null;
+        }
+        int nanos = nanosById.getOrDefault(ids[index], 0);
+        return LocalDateTime.ofEpochSecond(dates[index], nanos, ZoneOffset.UTC);
+    }
+
+    public void setDone(int index, boolean isDone) {
+        checkIndex(index);
+        done.set(index, isDone);
+    }
+
+    /**
+     * Finds a task's position from its id, by binary search since ids follow list order.
+     *
+     * @return The 0-based position, or -1 if there is no task with the id.
+     */
+    public int indexOfId(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * Removes a task, moving every task and all the text after it up. Like removing from an ArrayList
+     * this takes time in proportion to what comes after, which is fine for the occasional delete.
+     *
+     * @param index The 0-based position in the list.
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        nanosById.remove(ids[index]);
+        int removedStart = textStarts[index];
+        int removedLength = textStarts[index + 1] - removedStart;
+        System.arraycopy(text, removedStart + removedLength, text, removedStart,
+                textLength - removedStart - removedLength);
+        textLength -= removedLength;
+
+        int after = size - index - 1;
+        System.arraycopy(types, index + 1, types, index, after);
+        System.arraycopy(ids, index + 1, ids, index, after);
+        System.arraycopy(dates, index + 1, dates, index, after);
+        for (int i = index; i < size; i++) {
+            textStarts[i] = textStarts[i + 1] - removedLength;
+        }
+        BitSet doneAfter = done.get(index + 1, size);
+        done.clear(index, size);
+        for (int i = doneAfter.nextSetBit(0); i >= 0; i = doneAfter.nextSetBit(i + 1)) {
+            done.set(index + i);
+        }
+        size--;
+    }
+
+    /**
+     * Get a read-only list of the tasks that builds each one when it is asked for. It follows later changes
+     * to the store and, like the store, must not be used while another thread changes it.
+     */
+    public List<Task> asList() {
+        return new ListView();
+    }
+
+    /**
+     * Shrinks the arrays to what the tasks need, giving back the room left for growth.
+     */
+    public void trimToSize() {
+        types = Arrays.copyOf(types, size);
+        ids = Arrays.copyOf(ids, size);
+        dates = Arrays.copyOf(dates, size);
+        textStarts = Arrays.copyOf(textStarts, size + 1);
+        text = Arrays.copyOf(text, textLength);
+    }
+
+    /**
+     * @return Roughly how many bytes the store's arrays take up, for comparing with a list of Task objects.
+     */
+    public long getFootprint() {
+        return types.length + 4L * ids.length + 8L * dates.length + 4L * textStarts.length
+                + done.size() / 8 + text.length;
+    }
+
+    /**
+     * Adds a task whose description is read straight from a buffer, e.g. a task file read by MappedTaskParser.
+     * A missing or out of order id is replaced by the next free one.
+     */
+    void add(int id, byte type, boolean isDone, ByteBuffer source, int start, int end, LocalDateTime date) {
+        int index = appendSlot(id, type, isDone, date);
+        int length = end - start;
+        ensureText(length);
+        source.get(start, text, textLength, length);
+        textLength += length;
+        textStarts[index + 1] = textLength;
+    }
+
+    /**
+     * Adds an event whose description is read straight from a buffer. See add().
+     */
+    void addEvent(int id, boolean isDone, ByteBuffer source, int start, int end, String from, String to) {
+        byte[] description = new byte[end - start];
+        source.get(start, description);
+        addEvent(id, isDone, description, from, to);
+    }
+
+    private void addEvent(int id, boolean isDone, byte[] description, String from, String to) {
+        // Event parses its start the same way, so the date column agrees with it
+        int index = appendSlot(id, (byte) 'E', isDone, DateParser.parse(from));
+        byte[] fromBytes = utf8(from);
+        byte[] toBytes = utf8(to);
+        ensureText(10 + description.length + fromBytes.length + toBytes.length);
+        writeVarint(description.length);
+        writeVarint(fromBytes.length);
+        for (byte[] part : new byte[][] {description, fromBytes, toBytes}) {
+            System.arraycopy(part, 0, text, textLength, part.length);
+            textLength += part.length;
+        }
+        textStarts[index + 1] = textLength;
+    }
+
+    /**
+     * Fills in everything but the text for a new task at the end.
+     *
+     * @return Its index.
+     */
+    private int appendSlot(int id, byte type, boolean isDone, LocalDateTime date) {
+        if (size == types.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            types = Arrays.copyOf(types, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            textStarts = Arrays.copyOf(textStarts, capacity + 1);
+        }
+        int index = size++;
+        lastId = id > lastId ? id : lastId + 1;
+        types[index] = type;
+        ids[index] = lastId;
+        dates[index] = date == null ? NO_DATE : date.toEpochSecond(ZoneOffset.UTC);
+        if (date != null && date.getNano() != 0) {
+            nanosById.put(lastId, date.getNano());
+        }
+        done.set(index, isDone);
+        textStarts[index] = textLength;
+        return index;
+    }
+
+    private void ensureText(int extra) {
+        if (textLength + extra > text.length) {
+            text = Arrays.copyOf(text, Math.max(textLength + extra, text.length * 2));
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            text[textLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        text[textLength++] = (byte) value;
+    }
+
+    /**
+     * @param position The offset to read from, moved past the varint.
+     */
+    private int readVarint(int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = text[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private String decode(int start, int end) {
+        return new String(text, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    private class ListView extends AbstractList<Task> implements RandomAccess {
+        @Override
+        public Task get(int index) {
+            return CompactTaskStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.DateParser;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Comma-separated values, for spreadsheets and other to-do apps. Quoting follows RFC 4180, so a field can
+ * hold commas, quotes and line breaks.
+ *
+ * The first row names the columns, in any order: type, description, done, by, from and to. A few other
+ * names are understood too (e.g. "title" or "due"), and columns we don't know are ignored. Without a
+ * type column a row is a deadline if it has a "by" date, an event if it has a start and a todo otherwise.
+ * Ids are not read; imported tasks get new ones.
+ *
+ * Large files are split into chunks at row boundaries and the chunks are read side by side.
+ */
+public class CsvTaskFormat implements TaskFormat {
+    public static final String EXTENSION = ".csv";
+    static final String HEADER = "id,type,done,description,by,from,to";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int TYPE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int DONE = 2;
+    private static final int BY = 3;
+    private static final int FROM = 4;
+    private static final int TO = 5;
+    private static final String[][] COLUMN_NAMES = {
+        {"type"},
+        {"description", "title", "summary", "task", "name"},
+        {"done", "status", "completed"},
+        {"by", "due", "deadline", "date"},
+        {"from", "start"},
+        {"to", "end"},
+    };
+
+    @Override
+    public List<String> read(String filePath, ArrayList<Task> tasks) throws IOException {
+        ByteBuffer buffer = MappedTaskParser.readFile(filePath);
+        RowReader header = new RowReader(buffer, 0, buffer.limit(), 1);
+        skipByteOrderMark(header);
+        List<String> names = new ArrayList<>();
+        if (!header.next(names)) {
+            return new ArrayList<>();
+        }
+        int[] columns = findColumns(names);
+        if (columns[DESCRIPTION] < 0) {
+            List<String> errors = new ArrayList<>();
+            errors.add("Line 1: there is no description column in " + String.join(",", names));
+            return errors;
+        }
+        return ParallelChunks.parse(split(buffer, header.position, header.line),
+                (chunk, chunkTasks, errors) -> parseChunk(buffer, chunk, columns, chunkTasks, errors), tasks);
+    }
+
+    @Override
+    public void write(List<Task> tasks, WritableByteChannel channel) throws IOException {
+        BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write("\r\n");
+        StringBuilder row = new StringBuilder();
+        for (Task task : tasks) {
+            row.setLength(0);
+            row.append(task.getId()).append(',');
+            if (task instanceof Event) {
+                Event event = (Event) task;
+                row.append("event,").append(task.isDone()).append(',');
+                appendField(row, task.getDescription());
+                row.append(',').append(',');
+                appendField(row, event.getFrom());
+                row.append(',');
+                appendField(row, event.getTo());
+            } else if (task instanceof Deadline) {
+                row.append("deadline,").append(task.isDone()).append(',');
+                appendField(row, task.getDescription());
+                row.append(',').append(task.getDate() == null ? "" : task.getDate().toString()).append(",,");
+            } else {
+                row.append("todo,").append(task.isDone()).append(',');
+                appendField(row, task.getDescription());
+                row.append(",,,");
+            }
+            row.append("\r\n");
+            writer.append(row);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Splits the rows after the header into chunks of about ParallelChunks.CHUNK_SIZE bytes, only ever
+     * between rows. A line break inside quotes is part of a field, so quotes are followed along the way.
+     */
+    private static List<ParallelChunks.Chunk> split(ByteBuffer buffer, int start, int firstLine) {
+        List<ParallelChunks.Chunk> chunks = new ArrayList<>();
+        int limit = buffer.limit();
+        int chunkStart = start;
+        int chunkLine = firstLine;
+        int line = firstLine;
+        boolean isQuoted = false;
+        for (int i = start; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                isQuoted = !isQuoted;
+            } else if (b == '\n') {
+                line++;
+                if (!isQuoted && i + 1 - chunkStart >= ParallelChunks.CHUNK_SIZE) {
+                    chunks.add(new ParallelChunks.Chunk(chunkStart, i + 1, chunkLine));
+                    chunkStart = i + 1;
+                    chunkLine = line;
+                }
+            }
+        }
+        if (chunkStart < limit) {
+            chunks.add(new ParallelChunks.Chunk(chunkStart, limit, chunkLine));
+        }
+        return chunks;
+    }
+
+    private static void parseChunk(ByteBuffer buffer, ParallelChunks.Chunk chunk, int[] columns,
+            List<Task> tasks, List<String> errors) {
+        RowReader reader = new RowReader(buffer, chunk.start, chunk.end, chunk.firstLine);
+        List<String> fields = new ArrayList<>();
+        while (true) {
+            int line = reader.line;
+            try {
+                if (!reader.next(fields)) {
+                    return;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                tasks.add(toTask(fields, columns));
+            } catch (IllegalArgumentException e) {
+                errors.add("Line " + line + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static Task toTask(List<String> fields, int[] columns) {
+        String description = ParallelChunks.clean(field(fields, columns[DESCRIPTION]));
+        if (description.isEmpty()) {
+            throw new IllegalArgumentException("the description is empty");
+        }
+        String by = field(fields, columns[BY]).strip();
+        String from = ParallelChunks.clean(field(fields, columns[FROM]));
+        String to = ParallelChunks.clean(field(fields, columns[TO]));
+        String type = field(fields, columns[TYPE]).strip().toLowerCase(Locale.ROOT);
+        if (type.isEmpty()) {
+            type = !by.isEmpty() ? "deadline" : !from.isEmpty() ? "event" : "todo";
+        }
+
+        Task task;
+        switch (type) {
+            case "t":
+            case "todo":
+                task = new Todo(description);
+                break;
+            case "d":
+            case "deadline":
+                LocalDateTime date = DateParser.parse(by);
+                if (date == null) {
+                    throw new IllegalArgumentException("'" + by + "' is not a date");
+                }
+                task = new Deadline(description, date);
+                break;
+            case "e":
+            case "event":
+                if (from.isEmpty()) {
+                    throw new IllegalArgumentException("the event has no start");
+                }
+                task = new Event(description, from, to.isEmpty() ? from : to);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown task type '" + type + "'");
+        }
+        if (isDone(field(fields, columns[DONE]))) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    private static boolean isDone(String value) {
+        switch (value.strip().toLowerCase(Locale.ROOT)) {
+            case "1":
+            case "true":
+            case "yes":
+            case "y":
+            case "x":
+            case "done":
+            case "completed":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return Where each known column is in a row, or -1 for the ones not in the header.
+     */
+    private static int[] findColumns(List<String> header) {
+        int[] columns = new int[COLUMN_NAMES.length];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip().toLowerCase(Locale.ROOT);
+            for (int column = 0; column < COLUMN_NAMES.length; column++) {
+                if (columns[column] < 0 && Arrays.asList(COLUMN_NAMES[column]).contains(name)) {
+                    columns[column] = i;
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : "";
+    }
+
+    private static void appendField(StringBuilder row, String value) {
+        boolean isQuoted = false;
+        for (int i = 0; i < value.length() && !isQuoted; i++) {
+            char c = value.charAt(i);
+            isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!isQuoted) {
+            row.append(value);
+            return;
+        }
+        row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void skipByteOrderMark(RowReader reader) {
+        ByteBuffer buffer = reader.buffer;
+        if (buffer.limit() >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB
+                && (buffer.get(2) & 0xFF) == 0xBF) {
+            reader.position = 3;
+        }
+    }
+
+    /**
+     * Reads rows straight from the file's bytes. Only absolute gets are used, so several readers can
+     * share one buffer.
+     */
+    private static final class RowReader {
+        private final ByteBuffer buffer;
+        private final int end;
+        private int position;
+        private int line;
+        private byte[] scratch = new byte[256];
+        private int scratchLength;
+
+        private RowReader(ByteBuffer buffer, int start, int end, int line) {
+            this.buffer = buffer;
+            this.position = start;
+            this.end = end;
+            this.line = line;
+        }
+
+        /**
+         * Reads the next row into fields, moving past its line break.
+         *
+         * @return false if there are no rows left.
+         * @throws IllegalArgumentException If a quoted field is not closed.
+         */
+        private boolean next(List<String> fields) {
+            fields.clear();
+            if (position >= end) {
+                return false;
+            }
+            while (true) {
+                scratchLength = 0;
+                if (position < end && buffer.get(position) == '"') {
+                    readQuoted();
+                } else {
+                    while (position < end) {
+                        byte b = buffer.get(position);
+                        if (b == ',' || b == '\n') {
+                            break;
+                        }
+                        append(b);
+                        position++;
+                    }
+                }
+                if (scratchLength > 0 && scratch[scratchLength - 1] == '\r') {
+                    scratchLength--;
+                }
+                fields.add(new String(scratch, 0, scratchLength, StandardCharsets.UTF_8));
+                if (position >= end) {
+                    return true;
+                }
+                byte b = buffer.get(position++);
+                if (b == '\n') {
+                    line++;
+                    return true;
+                }
+                // A comma, so another field follows
+            }
+        }
+
+        private void readQuoted() {
+            position++;
+            while (true) {
+                if (position >= end) {
+                    // Leave nothing for the next row, since where this one ends is unknown
+                    throw new IllegalArgumentException("a quoted field is not closed");
+                }
+                byte b = buffer.get(position++);
+                if (b == '"') {
+                    if (position < end && buffer.get(position) == '"') {
+                        append(b);
+                        position++;
+                        continue;
+                    }
+                    // Anything between the closing quote and the next comma is kept as it is
+                    while (position < end && buffer.get(position) != ',' && buffer.get(position) != '\n') {
+                        append(buffer.get(position++));
+                    }
+                    return;
+                }
+                if (b == '\n') {
+                    line++;
+                }
+                append(b);
+            }
+        }
+
+        private void append(byte b) {
+            if (scratchLength == scratch.length) {
+                scratch = Arrays.copyOf(scratch, scratch.length * 2);
+            }
+            scratch[scratchLength++] = b;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.DateParser;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * iCalendar (RFC 5545), for calendar apps. Todos and deadlines are VTODOs, with a DUE date for a deadline;
+ * events are VEVENTs. An event's start and end are written as DTSTART and DTEND when they are dates we
+ * understand, and as typed in X-URBOI-FROM and X-URBOI-TO, so they come back the same.
+ *
+ * Reading takes the SUMMARY as the description and STATUS:COMPLETED as done. Times in UTC or another time
+ * zone are moved to this computer's zone. Alarms and other parts of a calendar are skipped.
+ *
+ * Large files are split into chunks where a VTODO or VEVENT starts and the chunks are read side by side.
+ */
+public class IcsTaskFormat implements TaskFormat {
+    public static final String EXTENSION = ".ics";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final String UID_PREFIX = "urboi-";
+    private static final String FROM = "X-URBOI-FROM";
+    private static final String TO = "X-URBOI-TO";
+    private static final String DONE = "X-URBOI-DONE";
+    private static final byte[][] COMPONENT_STARTS = {
+        "BEGIN:VTODO".getBytes(StandardCharsets.US_ASCII),
+        "BEGIN:VEVENT".getBytes(StandardCharsets.US_ASCII),
+    };
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter EVENT_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+
+    @Override
+    public List<String> read(String filePath, ArrayList<Task> tasks) throws IOException {
+        ByteBuffer buffer = MappedTaskParser.readFile(filePath);
+        return ParallelChunks.parse(split(buffer),
+                (chunk, chunkTasks, errors) -> new ComponentReader(buffer, chunk).readAll(chunkTasks, errors), tasks);
+    }
+
+    @Override
+    public void write(List<Task> tasks, WritableByteChannel channel) throws IOException {
+        BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(DATE_TIME) + "Z";
+        writeLine(writer, "BEGIN:VCALENDAR");
+        writeLine(writer, "VERSION:2.0");
+        writeLine(writer, "PRODID:-//URBOI//Tasks//EN");
+        for (Task task : tasks) {
+            String component = task instanceof Event ? "VEVENT" : "VTODO";
+            writeLine(writer, "BEGIN:" + component);
+            writeLine(writer, "UID:" + UID_PREFIX + task.getId());
+            writeLine(writer, "DTSTAMP:" + stamp);
+            writeLine(writer, "SUMMARY:" + escape(task.getDescription()));
+            if (task instanceof Event) {
+                Event event = (Event) task;
+                writeDate(writer, "DTSTART", event.getFrom());
+                writeDate(writer, "DTEND", event.getTo());
+                writeLine(writer, FROM + ":" + escape(event.getFrom()));
+                writeLine(writer, TO + ":" + escape(event.getTo()));
+                if (task.isDone()) {
+                    // VEVENT has no STATUS for done, so keep it in our own property
+                    writeLine(writer, DONE + ":TRUE");
+                }
+            } else {
+                if (task instanceof Deadline && task.getDate() != null) {
+                    writeLine(writer, "DUE:" + task.getDate().format(DATE_TIME));
+                }
+                writeLine(writer, "STATUS:" + (task.isDone() ? "COMPLETED" : "NEEDS-ACTION"));
+            }
+            writeLine(writer, "END:" + component);
+        }
+        writeLine(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    /**
+     * Splits a calendar into chunks of about ParallelChunks.CHUNK_SIZE bytes, each starting at a line
+     * that begins a VTODO or VEVENT.
+     */
+    private static List<ParallelChunks.Chunk> split(ByteBuffer buffer) {
+        List<ParallelChunks.Chunk> chunks = new ArrayList<>();
+        int limit = buffer.limit();
+        int chunkStart = 0;
+        int chunkLine = 1;
+        int line = 1;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) != '\n') {
+                continue;
+            }
+            line++;
+            if (i + 1 - chunkStart >= ParallelChunks.CHUNK_SIZE && isComponentStart(buffer, i + 1)) {
+                chunks.add(new ParallelChunks.Chunk(chunkStart, i + 1, chunkLine));
+                chunkStart = i + 1;
+                chunkLine = line;
+            }
+        }
+        if (chunkStart < limit) {
+            chunks.add(new ParallelChunks.Chunk(chunkStart, limit, chunkLine));
+        }
+        return chunks;
+    }
+
+    private static boolean isComponentStart(ByteBuffer buffer, int position) {
+        for (byte[] start : COMPONENT_STARTS) {
+            if (position + start.length > buffer.limit()) {
+                continue;
+            }
+            boolean isMatch = true;
+            for (int i = 0; i < start.length && isMatch; i++) {
+                isMatch = buffer.get(position + i) == start[i];
+            }
+            if (isMatch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a content line, folded so no line is longer than 75 octets. A folded line goes on after a
+     * line break and a space, and is never split inside a character.
+     */
+    private static void writeLine(Writer writer, String line) throws IOException {
+        int octets = 0;
+        int start = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            int size = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isHighSurrogate(c) ? 4 : 3;
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write(line, start, i - start);
+                writer.write("\r\n ");
+                start = i;
+                octets = 1;
+            }
+            octets += size;
+            if (Character.isHighSurrogate(c) && i + 1 < line.length()) {
+                i++;
+            }
+        }
+        writer.write(line, start, line.length() - start);
+        writer.write("\r\n");
+    }
+
+    private static void writeDate(Writer writer, String name, String text) throws IOException {
+        LocalDateTime date = DateParser.parse(text);
+        if (date == null) {
+            return;
+        }
+        if (DateParser.isDateOnly(text)) {
+            writeLine(writer, name + ";VALUE=DATE:" + date.format(DATE));
+        } else {
+            writeLine(writer, name + ":" + date.format(DATE_TIME));
+        }
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                escaped.append('\\').append(c);
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else if (c != '\r') {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder unescaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                unescaped.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * A property of a VTODO or VEVENT, e.g. "DTSTART;TZID=Asia/Singapore:20240301T140000".
+     */
+    private static final class Property {
+        private final String value;
+        private final Map<String, String> parameters = new HashMap<>();
+
+        private Property(String value) {
+            this.value = value;
+        }
+
+        private String getParameter(String name) {
+            return parameters.get(name);
+        }
+    }
+
+    /**
+     * Reads the VTODOs and VEVENTs in a chunk, unfolding lines as it goes. Only absolute gets are used,
+     * so several readers can share one buffer.
+     */
+    private static final class ComponentReader {
+        private final ByteBuffer buffer;
+        private final int end;
+        private int position;
+        private int line;
+        private byte[] scratch = new byte[256];
+        private int scratchLength;
+
+        private ComponentReader(ByteBuffer buffer, ParallelChunks.Chunk chunk) {
+            this.buffer = buffer;
+            this.position = chunk.start;
+            this.end = chunk.end;
+            this.line = chunk.firstLine;
+        }
+
+        private void readAll(List<Task> tasks, List<String> errors) {
+            String component = null;
+            int componentLine = 0;
+            int depth = 0;
+            Map<String, Property> properties = new HashMap<>();
+            while (position < end) {
+                int contentLine = line;
+                String content = nextLine();
+                String upper = content.toUpperCase(Locale.ROOT);
+                if (component == null) {
+                    if (upper.equals("BEGIN:VTODO") || upper.equals("BEGIN:VEVENT")) {
+                        component = upper.substring("BEGIN:".length());
+                        componentLine = contentLine;
+                        depth = 0;
+                        properties.clear();
+                    }
+                } else if (upper.startsWith("BEGIN:")) {
+                    // e.g. a VALARM inside the task
+                    depth++;
+                } else if (upper.startsWith("END:") && depth > 0) {
+                    depth--;
+                } else if (upper.equals("END:" + component)) {
+                    try {
+                        tasks.add(toTask(component, properties));
+                    } catch (IllegalArgumentException | DateTimeException e) {
+                        errors.add("Line " + componentLine + ": " + e.getMessage());
+                    }
+                    component = null;
+                } else if (depth == 0) {
+                    addProperty(content, properties);
+                }
+            }
+            if (component != null) {
+                errors.add("Line " + componentLine + ": " + component + " has no END:" + component);
+            }
+        }
+
+        /**
+         * @return The next content line with any folded lines after it joined back on.
+         */
+        private String nextLine() {
+            scratchLength = 0;
+            while (position < end) {
+                byte b = buffer.get(position++);
+                if (b != '\n') {
+                    append(b);
+                    continue;
+                }
+                line++;
+                dropCarriageReturn();
+                if (position < end && (buffer.get(position) == ' ' || buffer.get(position) == '\t')) {
+                    position++;
+                    continue;
+                }
+                break;
+            }
+            dropCarriageReturn();
+            return new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+        }
+
+        private void append(byte b) {
+            if (scratchLength == scratch.length) {
+                scratch = Arrays.copyOf(scratch, scratch.length * 2);
+            }
+            scratch[scratchLength++] = b;
+        }
+
+        private void dropCarriageReturn() {
+            if (scratchLength > 0 && scratch[scratchLength - 1] == '\r') {
+                scratchLength--;
+            }
+        }
+
+        private static void addProperty(String content, Map<String, Property> properties) {
+            int nameEnd = 0;
+            while (nameEnd < content.length() && content.charAt(nameEnd) != ';' && content.charAt(nameEnd) != ':') {
+                nameEnd++;
+            }
+            // The value starts at the first colon outside a quoted parameter value
+            int colon = -1;
+            boolean isQuoted = false;
+            for (int i = nameEnd; i < content.length() && colon < 0; i++) {
+                char c = content.charAt(i);
+                if (c == '"') {
+                    isQuoted = !isQuoted;
+                } else if (c == ':' && !isQuoted) {
+                    colon = i;
+                }
+            }
+            if (colon < 0) {
+                return;
+            }
+            String name = content.substring(0, nameEnd).toUpperCase(Locale.ROOT);
+            Property property = new Property(content.substring(colon + 1));
+            for (String parameter : content.substring(nameEnd, colon).split(";")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    property.parameters.put(parameter.substring(0, equals).toUpperCase(Locale.ROOT),
+                            parameter.substring(equals + 1).replace("\"", ""));
+                }
+            }
+            properties.putIfAbsent(name, property);
+        }
+
+        private static Task toTask(String component, Map<String, Property> properties) {
+            Property summary = properties.get("SUMMARY");
+            String description = summary == null ? "" : ParallelChunks.clean(unescape(summary.value));
+            if (description.isEmpty()) {
+                throw new IllegalArgumentException(component + " has no SUMMARY");
+            }
+            Task task;
+            if (component.equals("VEVENT")) {
+                String from = eventTime(properties, FROM, "DTSTART");
+                if (from == null) {
+                    throw new IllegalArgumentException("VEVENT has no DTSTART");
+                }
+                String to = eventTime(properties, TO, "DTEND");
+                task = new Event(description, from, to == null ? from : to);
+            } else if (properties.containsKey("DUE")) {
+                task = new Deadline(description, toLocal(properties.get("DUE")));
+            } else {
+                task = new Todo(description);
+            }
+            Property status = properties.get("STATUS");
+            Property done = properties.get(DONE);
+            if ((status != null && status.value.equalsIgnoreCase("COMPLETED")) || properties.containsKey("COMPLETED")
+                    || (done != null && done.value.equalsIgnoreCase("TRUE"))) {
+                task.markDone();
+            }
+            return task;
+        }
+
+        /**
+         * @return An event's start or end as typed if we wrote it, otherwise from the calendar date, or null.
+         */
+        private static String eventTime(Map<String, Property> properties, String asTyped, String calendarName) {
+            Property typed = properties.get(asTyped);
+            if (typed != null && !typed.value.isBlank()) {
+                return ParallelChunks.clean(unescape(typed.value));
+            }
+            Property calendar = properties.get(calendarName);
+            if (calendar == null) {
+                return null;
+            }
+            if (isDate(calendar)) {
+                return LocalDate.parse(calendar.value.strip(), DATE).toString();
+            }
+            return toLocal(calendar).format(EVENT_DATE_TIME);
+        }
+
+        private static boolean isDate(Property property) {
+            return "DATE".equalsIgnoreCase(property.getParameter("VALUE")) || property.value.strip().length() == 8;
+        }
+
+        /**
+         * Reads a DATE or DATE-TIME value as a time in this computer's zone. A time without a zone is taken
+         * as it is, as RFC 5545 says a floating time should be.
+         */
+        private static LocalDateTime toLocal(Property property) {
+            String value = property.value.strip();
+            if (isDate(property)) {
+                return LocalDate.parse(value, DATE).atStartOfDay();
+            }
+            if (value.endsWith("Z") || value.endsWith("z")) {
+                LocalDateTime utc = LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME);
+                return LocalDateTime.ofInstant(utc.toInstant(ZoneOffset.UTC), ZoneId.systemDefault());
+            }
+            LocalDateTime time = LocalDateTime.parse(value, DATE_TIME);
+            String zone = property.getParameter("TZID");
+            if (zone == null) {
+                return time;
+            }
+            try {
+                Instant instant = time.atZone(ZoneId.of(zone)).toInstant();
+                return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+            } catch (DateTimeException e) {
+                // A zone Java doesn't know, e.g. a Windows name; keep the time as written
+                return time;
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the pipe-delimited task file straight from bytes, including the optional "#id | " at the start of a line.
+ * The file is read into the heap in one go; fields are found by scanning for " | " and newlines, and the
+ * ISO date-times written by Deadline are decoded by hand instead of through DateTimeFormatter.
+ *
+ * Files are not memory mapped: on Windows a mapped file cannot be replaced until the mapping is garbage
+ * collected, and every file read here (the task file, archive segments) is later replaced by
+ * AtomicSnapshotWriter.
+ */
+public class MappedTaskParser {
+    private static final int MAX_FIELDS = 5;
+
+    private final ByteBuffer buffer;
+    private final int[] fieldStarts = new int[MAX_FIELDS];
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+    private byte[] scratch = new byte[256];
+
+    private MappedTaskParser(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads every task in a file.
+     *
+     * @param filePath The task file. It must exist.
+     * @param tasks The list to add the tasks to.
+     * @return One message per malformed line, in the form "Line 3: ...". Empty if every line was fine.
+     * @throws IOException If the file could not be read.
+     */
+    public static List<String> load(String filePath, ArrayList<Task> tasks) throws IOException {
+        MappedTaskParser parser = new MappedTaskParser(readFile(filePath));
+        return parser.parseAll((start, end) -> tasks.add(parser.parseLine(start, end)));
+    }
+
+    /**
+     * Reads every task in a file into columns. Descriptions are copied from the file's bytes as they are,
+     * so no Task or String is made for a todo or deadline.
+     *
+     * @param filePath The task file. It must exist.
+     * @param tasks The store to add the tasks to.
+     * @return One message per malformed line, in the form "Line 3: ...". Empty if every line was fine.
+     * @throws IOException If the file could not be read.
+     */
+    static List<String> load(String filePath, CompactTaskStore tasks) throws IOException {
+        MappedTaskParser parser = new MappedTaskParser(readFile(filePath));
+        return parser.parseAll((start, end) -> parser.parseLineInto(tasks, start, end));
+    }
+
+    /**
+     * Reads a whole file into a heap buffer. The file is closed again before this returns, so it can be
+     * replaced straight away.
+     */
+    static ByteBuffer readFile(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Task file is too large to read: " + filePath);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // Keep reading until the whole file is in the buffer
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    private List<String> parseAll(LineHandler handler) {
+        List<String> errors = new ArrayList<>();
+        int limit = buffer.limit();
+        int lineStart = 0;
+        int lineNumber = 0;
+        while (lineStart < limit) {
+            lineNumber++;
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            if (contentEnd > lineStart) {
+                try {
+                    handler.handle(lineStart, contentEnd);
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    errors.add("Line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return errors;
+    }
+
+    private Task parseLine(int start, int end) {
+        int id = parseFields(start, end);
+        Task task;
+        switch (buffer.get(fieldStarts[0])) {
+            case 'T':
+                task = new Todo(text(2));
+                break;
+            case 'D':
+                task = new Deadline(text(2), dateTime(3));
+                break;
+            default:
+                task = new Event(text(2), text(3), text(4));
+                break;
+        }
+
+        if (isDone()) {
+            task.markDone();
+        }
+        task.setId(id);
+        return task;
+    }
+
+    private void parseLineInto(CompactTaskStore tasks, int start, int end) {
+        int id = parseFields(start, end);
+        byte type = buffer.get(fieldStarts[0]);
+        if (type == 'E') {
+            tasks.addEvent(id, isDone(), buffer, fieldStarts[2], fieldEnds[2], text(3), text(4));
+        } else {
+            tasks.add(id, type, isDone(), buffer, fieldStarts[2], fieldEnds[2], type == 'D' ? dateTime(3) : null);
+        }
+    }
+
+    /**
+     * Reads the optional id and splits the rest of a line into fields, checking the type and status and that
+     * the type has all of its fields.
+     *
+     * @return The id, or 0 if the line has none.
+     */
+    private int parseFields(int start, int end) {
+        int id = 0;
+        if (buffer.get(start) == TextTaskFormat.ID_PREFIX) {
+            int idEnd = indexOfDelimiter(start, end);
+            id = idEnd - start > 1 ? digits(start + 1, idEnd - start - 1) : -1;
+            if (id <= 0) {
+                throw new IllegalArgumentException("bad task id '"
+                        + new String(bytes(start, idEnd), StandardCharsets.UTF_8) + "'");
+            }
+            start = Math.min(idEnd + 3, end);
+        }
+        int fieldCount = splitFields(start, end);
+        if (fieldCount < 3) {
+            throw new IllegalArgumentException("expected at least 3 fields but found " + fieldCount);
+        }
+        if (fieldEnds[0] - fieldStarts[0] != 1) {
+            throw new IllegalArgumentException("unknown task type '" + text(0) + "'");
+        }
+        if (fieldEnds[1] - fieldStarts[1] != 1
+                || (buffer.get(fieldStarts[1]) != '0' && buffer.get(fieldStarts[1]) != '1')) {
+            throw new IllegalArgumentException("status must be 0 or 1 but was '" + text(1) + "'");
+        }
+        switch (buffer.get(fieldStarts[0])) {
+            case 'T':
+                break;
+            case 'D':
+                if (fieldCount < 4) {
+                    throw new IllegalArgumentException("deadline is missing its date");
+                }
+                break;
+            case 'E':
+                if (fieldCount < 5) {
+                    throw new IllegalArgumentException("event is missing its start or end");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown task type '" + text(0) + "'");
+        }
+        return id;
+    }
+
+    private boolean isDone() {
+        return buffer.get(fieldStarts[1]) == '1';
+    }
+
+    /**
+     * Finds the fields of one line, separated by " | ", the same way the old String.split did.
+     * Anything after the last field we use is ignored.
+     *
+     * @return The number of fields found, at most MAX_FIELDS.
+     */
+    private int splitFields(int start, int end) {
+        int count = 0;
+        int fieldStart = start;
+        for (int i = start; i + 2 < end && count < MAX_FIELDS - 1; i++) {
+            if (buffer.get(i) == ' ' && buffer.get(i + 1) == '|' && buffer.get(i + 2) == ' ') {
+                fieldStarts[count] = fieldStart;
+                fieldEnds[count] = i;
+                count++;
+                fieldStart = i + 3;
+                i += 2;
+            }
+        }
+        int fieldEnd = end;
+        if (count == MAX_FIELDS - 1) {
+            fieldEnd = indexOfDelimiter(fieldStart, end);
+        }
+        fieldStarts[count] = fieldStart;
+        fieldEnds[count] = fieldEnd;
+        return count + 1;
+    }
+
+    private int indexOfDelimiter(int start, int end) {
+        for (int i = start; i + 2 < end; i++) {
+            if (buffer.get(i) == ' ' && buffer.get(i + 1) == '|' && buffer.get(i + 2) == ' ') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private byte[] bytes(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return bytes;
+    }
+
+    private String text(int field) {
+        int length = fieldEnds[field] - fieldStarts[field];
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(fieldStarts[field], scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes yyyy-MM-ddTHH:mm[:ss[.fraction]], which is what LocalDateTime.toString writes.
+     * Anything else goes through LocalDateTime.parse so unusual but valid values still load.
+     */
+    private LocalDateTime dateTime(int field) {
+        int start = fieldStarts[field];
+        int length = fieldEnds[field] - start;
+        if (length < 16 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-'
+                || buffer.get(start + 10) != 'T' || buffer.get(start + 13) != ':') {
+            return LocalDateTime.parse(text(field));
+        }
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        int hour = digits(start + 11, 2);
+        int minute = digits(start + 14, 2);
+        int second = 0;
+        int nano = 0;
+        if (length > 16) {
+            if (length < 19 || buffer.get(start + 16) != ':') {
+                return LocalDateTime.parse(text(field));
+            }
+            second = digits(start + 17, 2);
+            if (length > 19) {
+                int fractionLength = length - 20;
+                if (buffer.get(start + 19) != '.' || fractionLength < 1 || fractionLength > 9) {
+                    return LocalDateTime.parse(text(field));
+                }
+                nano = digits(start + 20, fractionLength);
+                for (int i = fractionLength; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0 || nano < 0) {
+            return LocalDateTime.parse(text(field));
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    /**
+     * @return The number made of the given digits, or -1 if any of them is not a digit or it is too big for
+     *     an int.
+     */
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            if (value > (Integer.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Does something with one non-empty line, given as a range of the buffer.
+     */
+    private interface LineHandler {
+        void handle(int start, int end);
+    }
+}
@@ -0,0 +1,90 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Parses a large file in chunks side by side on the common fork-join pool, then puts what each chunk
+ * found back together in file order. The format decides where a chunk may start, i.e. where a record starts.
+ */
+final class ParallelChunks {
+    // Big enough that splitting costs little, small enough that a few MB keep every core busy
+    static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Parses the records in one chunk of a file.
+     */
+    interface ChunkParser {
+        /**
+         * @param chunk Where the chunk is in the file and the number of its first line.
+         * @param tasks Gets the tasks read, in order.
+         * @param errors Gets one message per record that could not be read, in the form "Line 3: ...".
+         */
+        void parse(Chunk chunk, List<Task> tasks, List<String> errors);
+    }
+
+    /**
+     * A run of whole records.
+     */
+    static final class Chunk {
+        final int start;
+        final int end;
+        final int firstLine;
+
+        Chunk(int start, int end, int firstLine) {
+            this.start = start;
+            this.end = end;
+            this.firstLine = firstLine;
+        }
+    }
+
+    private ParallelChunks() {
+    }
+
+    /**
+     * Parses every chunk, in parallel if there is more than one.
+     *
+     * @param tasks Gets the tasks of every chunk, in file order.
+     * @return The errors of every chunk, in file order.
+     */
+    static List<String> parse(List<Chunk> chunks, ChunkParser parser, ArrayList<Task> tasks) {
+        List<Result> results = chunks.parallelStream()
+                .map(chunk -> {
+                    Result result = new Result();
+                    parser.parse(chunk, result.tasks, result.errors);
+                    return result;
+                })
+                .collect(Collectors.toList());
+        int total = 0;
+        for (Result result : results) {
+            total += result.tasks.size();
+        }
+        tasks.ensureCapacity(tasks.size() + total);
+        List<String> errors = new ArrayList<>();
+        for (Result result : results) {
+            tasks.addAll(result.tasks);
+            errors.addAll(result.errors);
+        }
+        return errors;
+    }
+
+    /**
+     * Makes text from another program safe to keep in a task file, which has a task per line and " | "
+     * between fields: line breaks become spaces and " | " becomes " / ".
+     */
+    static String clean(String text) {
+        String cleaned = text.strip();
+        if (cleaned.indexOf('\n') >= 0 || cleaned.indexOf('\r') >= 0) {
+            cleaned = cleaned.replaceAll("\\s*[\\r\\n]+\\s*", " ");
+        }
+        return cleaned.replace(" | ", " / ");
+    }
+
+    private static final class Result {
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+    }
+}
@@ -0,0 +1,143 @@
+package URBOI_PACKIN.Storage;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves a task list shortly after it changes instead of after every change, so a burst of changes goes
+ * to disk in one write.
+ *
+ * Every change is reported with changed(). The list is saved once the oldest unsaved change has waited
+ * the given delay, or as soon as the given number of changes are waiting, whichever comes first. Saves
+ * run one at a time on a background thread, and changes made during a save go into the next one.
+ *
+ * A caller that must not answer before its change is on disk calls saveSoon() and waits on the future
+ * changed() returned. Everyone waiting at that moment shares the one save.
+ */
+public class SaveScheduler {
+    private static final ScheduledExecutorService saver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TaskRepository tasks;
+    private final long delayMillis;
+    private final int maxChanges;
+    private int unsavedChanges;
+    private CompletableFuture<Void> nextSave = new CompletableFuture<>();
+    private ScheduledFuture<?> scheduledSave;
+    private long saveCount;
+
+    /**
+     * @param tasks The task list to save.
+     * @param delayMillis How long a change may wait to be saved.
+     * @param maxChanges How many changes may wait before they are saved straight away.
+     */
+    public SaveScheduler(TaskRepository tasks, long delayMillis, int maxChanges) {
+        this.tasks = tasks;
+        this.delayMillis = delayMillis;
+        this.maxChanges = maxChanges;
+    }
+
+    /**
+     * Notes one change to the list and makes sure a save is coming.
+     *
+     * @return A future that completes once the change is on disk, or exceptionally if saving it failed.
+     */
+    public synchronized CompletableFuture<Void> changed() {
+        unsavedChanges++;
+        schedule(unsavedChanges >= maxChanges ? 0 : delayMillis);
+        return nextSave;
+    }
+
+    /**
+     * Starts saving the waiting changes now instead of at the end of the delay.
+     */
+    public synchronized void saveSoon() {
+        if (unsavedChanges > 0) {
+            schedule(0);
+        }
+    }
+
+    /**
+     * Saves the waiting changes on this thread and returns once they are on disk.
+     *
+     * @throws IOException If the tasks could not be saved.
+     */
+    public void flush() throws IOException {
+        CompletableFuture<Void> saved = takeUnsaved();
+        if (saved != null) {
+            save(saved);
+        }
+    }
+
+    /**
+     * @return The number of saves made so far.
+     */
+    public synchronized long getSaveCount() {
+        return saveCount;
+    }
+
+    /**
+     * Makes sure a save starts within the delay, moving an already scheduled one earlier if needed.
+     */
+    private void schedule(long delay) {
+        if (scheduledSave != null) {
+            if (scheduledSave.getDelay(TimeUnit.MILLISECONDS) <= delay) {
+                return;
+            }
+            scheduledSave.cancel(false);
+        }
+        scheduledSave = saver.schedule(this::saveInBackground, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hands the waiting changes to whoever is about to save them.
+     *
+     * @return The future to complete once they are saved, or null if nothing is waiting.
+     */
+    private synchronized CompletableFuture<Void> takeUnsaved() {
+        if (scheduledSave != null) {
+            scheduledSave.cancel(false);
+            scheduledSave = null;
+        }
+        if (unsavedChanges == 0) {
+            return null;
+        }
+        unsavedChanges = 0;
+        CompletableFuture<Void> saved = nextSave;
+        nextSave = new CompletableFuture<>();
+        return saved;
+    }
+
+    private void save(CompletableFuture<Void> saved) throws IOException {
+        try {
+            tasks.save();
+        } catch (IOException e) {
+            // The changes are still in memory, so the next save writes them too
+            saved.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            saveCount++;
+        }
+        saved.complete(null);
+    }
+
+    private void saveInBackground() {
+        CompletableFuture<Void> saved = takeUnsaved();
+        if (saved == null) {
+            return;
+        }
+        try {
+            save(saved);
+        } catch (IOException e) {
+            System.out.println("Error saving tasks: " + e.getMessage());
+        }
+    }
+}
@@ -1,56 +1,71 @@
 package URBOI_PACKIN.Storage;
 
+import URBOI_PACKIN.Metrics.Metrics;
 import URBOI_PACKIN.Task;
 import URBOI_PACKIN.TaskTypes.Deadline;
 import URBOI_PACKIN.TaskTypes.Event;
 import URBOI_PACKIN.TaskTypes.Todo;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
 
 public class Storage {
     private static final String FILE_PATH = "tasks.txt";
 
     public static void loadTasksFromFile(ArrayList<Task> tasks) {
+        loadTasksFromFile(tasks, FILE_PATH);
+    }
+
+    public static void loadTasksFromFile(ArrayList<Task> tasks, String filePath) {
         try {
-            File file = new File(FILE_PATH);
+            File file = new File(filePath);
             if (file.exists()) {
-                Scanner fileScanner = new Scanner(file);
-                while (fileScanner.hasNextLine()) {
-                    String line = fileScanner.nextLine();
-                    Task task = createTaskFromLine(line);
-                    if (task != null) {
-                        tasks.add(task);
-                    }
+                long start = Metrics.start();
+                int before = tasks.size();
+                List<String> errors = MappedTaskParser.load(filePath, tasks);
+                Metrics.record(Metrics.PARSE, start);
+                Metrics.countLoad(file.length(), tasks.size() - before + errors.size(), errors.size());
+                for (String error : errors) {
+                    System.out.println("Skipping malformed task in " + filePath + ": " + error);
                 }
-                fileScanner.close();
             }
-        } catch (FileNotFoundException e) {
-            // Handle file not found exception
-            System.out.println("File not found: " + FILE_PATH);
+        } catch (IOException e) {
+            // Handle IO exception
+            System.out.println("Error loading tasks from file: " + e.getMessage());
         }
     }
 
     public static void saveTasksToFile(ArrayList<Task> tasks) {
+        saveTasksToFile(tasks, FILE_PATH);
+    }
+
+    public static void saveTasksToFile(ArrayList<Task> tasks, String filePath) {
         try {
-            FileWriter fileWriter = new FileWriter(FILE_PATH);
-            for (Task task : tasks) {
-                fileWriter.write(task.toFileString() + System.lineSeparator());
-            }
-            fileWriter.close();
+            new AtomicSnapshotWriter(filePath, false, 0).write(tasks);
         } catch (IOException e) {
             // Handle IO exception
             System.out.println("Error saving tasks to file: " + e.getMessage());
         }
     }
 
-    private static Task createTaskFromLine(String line) {
+    static Task createTaskFromLine(String line) {
+        int id = 0;
+        if (line.length() > 0 && line.charAt(0) == TextTaskFormat.ID_PREFIX) {
+            int idEnd = line.indexOf(" | ");
+            try {
+                id = idEnd < 0 ? -1 : Integer.parseInt(line.substring(1, idEnd));
+            } catch (NumberFormatException e) {
+                id = -1;
+            }
+            if (id <= 0) {
+                return null;
+            }
+            line = line.substring(idEnd + 3);
+        }
         String[] parts = line.split(" \\| ");
         if (parts.length < 3) {
             return null;
@@ -81,6 +96,7 @@ public class Storage {
         }
 
         if (task != null) {
+            task.setId(id);
             if (status.equals("1")) {
                 task.markDone();
             } else {
@@ -0,0 +1,327 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Index.KeywordIndex;
+import URBOI_PACKIN.Metrics.Metrics;
+import URBOI_PACKIN.Task;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Keeps done tasks out of the way in a folder of segment files, so the task file, and the memory and time
+ * it takes to load, only grow with the tasks still open.
+ *
+ * Tasks are archived into a segment for the month, e.g. 2024-03.txt, and a new one (2024-03-2.txt) is
+ * started when it gets too big. A small summary of every segment, its name, size and range of ids, is kept
+ * in segments.txt and is all that is read when the archive is opened. A segment is only read when its
+ * tasks are asked for, and only the few used last are kept in memory.
+ *
+ * Segments are in the same text format as the task file, so they can be read and edited by hand. A segment
+ * in memory is kept in a CompactTaskStore, since archived tasks are only ever read, and a Task is built
+ * when one is looked at. A segment that cannot be read is not kept, so adding to it fails instead of
+ * writing it over.
+ */
+public class TaskArchive {
+    public static final String SUMMARY_FILE = "segments.txt";
+    // A new segment is started once one holds this many tasks, set with -Durboi.archiveSegmentSize=N
+    private static final int SEGMENT_SIZE = Integer.getInteger("urboi.archiveSegmentSize", 10_000);
+    // How many segments stay in memory after they are read, set with -Durboi.archiveCache=N
+    private static final int CACHED_SEGMENTS = Integer.getInteger("urboi.archiveCache", 4);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private final LinkedHashMap<String, LoadedSegment> loaded;
+    private int size;
+    private int lastId;
+
+    public TaskArchive(String directory) {
+        this(directory, SEGMENT_SIZE, CACHED_SEGMENTS);
+    }
+
+    /**
+     * Opens an archive, reading only its summary. The folder is created when something is first archived.
+     *
+     * @param segmentSize The number of tasks after which a new segment is started.
+     * @param cachedSegments How many segments to keep in memory once read.
+     */
+    public TaskArchive(String directory, int segmentSize, int cachedSegments) {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.loaded = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LoadedSegment> eldest) {
+                return size() > cachedSegments;
+            }
+        };
+        readSummary();
+    }
+
+    /**
+     * @return The number of archived tasks, without reading any segment.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return How many segments are in memory right now.
+     */
+    public synchronized int getLoadedSegmentCount() {
+        return loaded.size();
+    }
+
+    /**
+     * @return The largest id of any archived task, or 0 if there are none.
+     */
+    public synchronized int getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Adds tasks to this month's segment, starting new ones as they fill up. Each segment written, and then
+     * the summary, is replaced on disk in one step, so a crash leaves the archive as it was before or after
+     * each segment. A new segment only joins the summary once its file is written.
+     *
+     * @param tasks Tasks with ids, e.g. done tasks about to be removed from the task list.
+     * @throws IOException If a segment could not be read or written, or the summary could not be written.
+     */
+    public synchronized void add(Collection<Task> tasks, YearMonth month) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Task> waiting = new ArrayList<>(tasks);
+        waiting.sort(Comparator.comparingInt(Task::getId));
+        int next = 0;
+        while (next < waiting.size()) {
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            boolean isNew = segment == null || !segment.month.equals(month) || segment.count >= segmentSize;
+            if (isNew) {
+                segment = new Segment(segmentName(month), month, 0, Integer.MAX_VALUE, 0);
+            }
+            List<Task> segmentTasks = isNew ? new ArrayList<>() : new ArrayList<>(load(segment).tasks);
+            int end = Math.min(waiting.size(), next + segmentSize - segment.count);
+            segmentTasks.addAll(waiting.subList(next, end));
+            segmentTasks.sort(Comparator.comparingInt(Task::getId));
+            new AtomicSnapshotWriter(directory.resolve(segment.name).toString(), new TextTaskFormat(), true, 0)
+                    .write(segmentTasks);
+            CompactTaskStore store = new CompactTaskStore();
+            for (Task task : segmentTasks) {
+                store.add(task);
+            }
+            store.trimToSize();
+
+            if (isNew) {
+                segments.add(segment);
+            }
+            size += end - next;
+            segment.count = segmentTasks.size();
+            segment.firstId = segmentTasks.get(0).getId();
+            segment.lastId = segmentTasks.get(segmentTasks.size() - 1).getId();
+            lastId = Math.max(lastId, segment.lastId);
+            loaded.put(segment.name, new LoadedSegment(store));
+            next = end;
+        }
+        writeSummary();
+    }
+
+    /**
+     * Get a read-only list of every archived task, segment by segment. Looking at a task reads its segment
+     * if it is not in memory, so paging through the list only reads the segments on the page. If that
+     * segment cannot be read, looking at the task throws an UncheckedIOException.
+     */
+    public List<Task> asList() {
+        return new ListView();
+    }
+
+    /**
+     * Finds the archived tasks that have a word starting with each keyword, reading every segment.
+     *
+     * @return The matching tasks, segment by segment.
+     * @throws IOException If a segment could not be read.
+     */
+    public synchronized List<Task> find(Collection<String> keywords) throws IOException {
+        List<Task> found = new ArrayList<>();
+        for (Segment segment : segments) {
+            found.addAll(load(segment).keywordIndex().find(keywords));
+        }
+        return found;
+    }
+
+    private synchronized Task get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        for (Segment segment : segments) {
+            if (index < segment.count) {
+                try {
+                    return load(segment).tasks.get(index);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            index -= segment.count;
+        }
+        throw new IllegalStateException("segment sizes do not add up to " + size);
+    }
+
+    /**
+     * @return The segment's tasks, read from disk unless they are still in memory.
+     * @throws IOException If the segment could not be read. Nothing is kept, so the next call tries again.
+     */
+    private LoadedSegment load(Segment segment) throws IOException {
+        LoadedSegment tasks = loaded.get(segment.name);
+        if (tasks != null) {
+            return tasks;
+        }
+        CompactTaskStore read = new CompactTaskStore();
+        Path file = directory.resolve(segment.name);
+        if (Files.exists(file)) {
+            long start = Metrics.start();
+            for (String error : CompactTaskStore.load(file.toString(), read)) {
+                System.out.println("Skipping malformed task in " + file + ": " + error);
+            }
+            Metrics.record(Metrics.ARCHIVE_LOAD, start);
+        }
+        if (read.size() != segment.count) {
+            // Edited by hand; go by what is in the file
+            size += read.size() - segment.count;
+            segment.count = read.size();
+        }
+        tasks = new LoadedSegment(read);
+        loaded.put(segment.name, tasks);
+        return tasks;
+    }
+
+    private String segmentName(YearMonth month) {
+        int part = 1;
+        for (Segment segment : segments) {
+            if (segment.month.equals(month)) {
+                part++;
+            }
+        }
+        return part == 1 ? month + ".txt" : month + "-" + part + ".txt";
+    }
+
+    /**
+     * Reads one line per segment: "name | month | task count | first id | last id".
+     */
+    private void readSummary() {
+        Path file = directory.resolve(SUMMARY_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(" \\| ");
+                try {
+                    Segment segment = new Segment(fields[0], YearMonth.parse(fields[1]),
+                            Integer.parseInt(fields[2]), Integer.parseInt(fields[3]), Integer.parseInt(fields[4]));
+                    segments.add(segment);
+                    size += segment.count;
+                    lastId = Math.max(lastId, segment.lastId);
+                } catch (RuntimeException e) {
+                    System.out.println("Skipping malformed archive segment in " + file + ": " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error loading archive summary: " + e.getMessage());
+        }
+    }
+
+    private void writeSummary() throws IOException {
+        Path file = directory.resolve(SUMMARY_FILE);
+        Path temp = directory.resolve(SUMMARY_FILE + AtomicSnapshotWriter.TEMP_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Segment segment : segments) {
+                writer.write(segment.name + " | " + segment.month + " | " + segment.count + " | "
+                        + segment.firstId + " | " + segment.lastId);
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * What the summary says about a segment.
+     */
+    private static class Segment {
+        private final String name;
+        private final YearMonth month;
+        private int count;
+        private int firstId;
+        private int lastId;
+
+        private Segment(String name, YearMonth month, int count, int firstId, int lastId) {
+            this.name = name;
+            this.month = month;
+            this.count = count;
+            this.firstId = firstId;
+            this.lastId = lastId;
+        }
+    }
+
+    /**
+     * A segment's tasks, with a keyword index built the first time the segment is searched.
+     */
+    private static class LoadedSegment {
+        private final List<Task> tasks;
+        private KeywordIndex keywordIndex;
+
+        private LoadedSegment(CompactTaskStore store) {
+            this.tasks = store.asList();
+        }
+
+        private KeywordIndex keywordIndex() {
+            if (keywordIndex == null) {
+                keywordIndex = new KeywordIndex();
+                for (Task task : tasks) {
+                    keywordIndex.add(task);
+                }
+            }
+            return keywordIndex;
+        }
+    }
+
+    private class ListView extends AbstractList<Task> implements RandomAccess {
+        @Override
+        public Task get(int index) {
+            return TaskArchive.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return TaskArchive.this.size();
+        }
+    }
+}
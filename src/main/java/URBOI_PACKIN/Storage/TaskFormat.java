@@ -0,0 +1,56 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A way of laying out the task list in a file.
+ */
+public interface TaskFormat {
+
+    /**
+     * Reads every task in a file.
+     *
+     * @param filePath The file to read. It must exist.
+     * @param tasks The list to add the tasks to.
+     * @return One message per task that could not be read. Empty if every task was fine.
+     * @throws IOException If the file could not be read at all.
+     */
+    List<String> read(String filePath, ArrayList<Task> tasks) throws IOException;
+
+    /**
+     * Writes every task to a channel. The channel is left open.
+     */
+    void write(List<Task> tasks, WritableByteChannel channel) throws IOException;
+
+    /**
+     * Picks the format from the file name: binary for ".bin" files, text for everything else.
+     */
+    static TaskFormat forFile(String filePath) {
+        if (filePath.endsWith(BinaryTaskFormat.EXTENSION)) {
+            return new BinaryTaskFormat();
+        }
+        return new TextTaskFormat();
+    }
+
+    /**
+     * Picks the format for importing or exporting from the file name: CSV for ".csv" files and iCalendar for
+     * ".ics" files.
+     *
+     * @return The format, or null if the file is neither.
+     */
+    static TaskFormat forExchange(String filePath) {
+        String name = filePath.toLowerCase(Locale.ROOT);
+        if (name.endsWith(CsvTaskFormat.EXTENSION)) {
+            return new CsvTaskFormat();
+        } else if (name.endsWith(IcsTaskFormat.EXTENSION)) {
+            return new IcsTaskFormat();
+        }
+        return null;
+    }
+}
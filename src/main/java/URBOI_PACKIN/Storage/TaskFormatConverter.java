@@ -0,0 +1,44 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Converts a task file from one format to another, e.g. tasks.txt to tasks.bin and back.
+ * The formats are picked from the file names, see TaskFormat.forFile.
+ */
+public class TaskFormatConverter {
+
+    /**
+     * Reads every task from one file and writes them all to another.
+     *
+     * @param sourcePath The file to read.
+     * @param targetPath The file to write. It is replaced atomically if it already exists.
+     * @return The number of tasks converted.
+     * @throws IOException If either file could not be read or written.
+     */
+    public static int convert(String sourcePath, String targetPath) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String error : TaskFormat.forFile(sourcePath).read(sourcePath, tasks)) {
+            System.out.println("Skipping malformed task in " + sourcePath + ": " + error);
+        }
+        new AtomicSnapshotWriter(targetPath, true, 0).write(tasks);
+        return tasks.size();
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: TaskFormatConverter <source file> <target file>");
+            System.exit(1);
+        }
+        try {
+            int count = convert(args[0], args[1]);
+            System.out.println("Converted " + count + " tasks from " + args[0] + " to " + args[1]);
+        } catch (IOException e) {
+            System.out.println("Error converting tasks: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
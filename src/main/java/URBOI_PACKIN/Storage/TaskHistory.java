@@ -0,0 +1,157 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes made to a task list, for undo and redo.
+ *
+ * A step keeps the TaskVector from before and after its change. Those share everything but the paths to
+ * the tasks that changed, so a step costs O(log n) memory for each task it touched however long the list
+ * is, and going back or forward is swapping in the other vector. The tasks that changed are kept too, so
+ * the id map and the indexes can be fixed for just those tasks.
+ *
+ * Only the latest steps are kept, up to a depth. Making a new change forgets what could be redone.
+ */
+class TaskHistory {
+    private final int depth;
+    private final ArrayDeque<Step> undoable = new ArrayDeque<>();
+    private final ArrayDeque<Step> redoable = new ArrayDeque<>();
+
+    /**
+     * @param depth How many steps can be undone. 0 turns undo off.
+     */
+    TaskHistory(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Adds a change that was just made.
+     */
+    void push(Step step) {
+        if (depth <= 0 || step.changes.isEmpty()) {
+            return;
+        }
+        redoable.clear();
+        undoable.push(step);
+        if (undoable.size() > depth) {
+            undoable.removeLast();
+        }
+    }
+
+    /**
+     * @return The step to undo, moved over to be redone, or null if there is nothing to undo.
+     */
+    Step undo() {
+        Step step = undoable.poll();
+        if (step != null) {
+            redoable.push(step);
+        }
+        return step;
+    }
+
+    /**
+     * @return The step to redo, moved back to be undone, or null if there is nothing to redo.
+     */
+    Step redo() {
+        Step step = redoable.poll();
+        if (step != null) {
+            undoable.push(step);
+        }
+        return step;
+    }
+
+    int getUndoCount() {
+        return undoable.size();
+    }
+
+    int getRedoCount() {
+        return redoable.size();
+    }
+
+    void clear() {
+        undoable.clear();
+        redoable.clear();
+    }
+
+    /**
+     * One command's worth of changes.
+     */
+    static final class Step {
+        final TaskVector before;
+        final TaskVector after;
+        final List<Change> changes;
+        // The slots were packed during the change, so slot numbers do not carry over between the vectors
+        final boolean isRepacked;
+
+        Step(TaskVector before, TaskVector after, List<Change> changes, boolean isRepacked) {
+            this.before = before;
+            this.after = after;
+            this.changes = changes;
+            this.isRepacked = isRepacked;
+        }
+
+        /**
+         * @return What the step did, e.g. "deleting 3 tasks" or "marking [D][X] return book (by: ...)".
+         */
+        String describe() {
+            Change first = changes.get(0);
+            String verb;
+            if (first.before == null) {
+                verb = "adding ";
+            } else if (first.after == null) {
+                verb = "deleting ";
+            } else {
+                verb = first.after.isDone() ? "marking " : "unmarking ";
+            }
+            if (changes.size() == 1) {
+                return verb + (first.after == null ? first.before : first.after);
+            }
+            return verb + changes.size() + " tasks";
+        }
+    }
+
+    /**
+     * One task added (before is null), deleted (after is null) or swapped for a changed copy.
+     */
+    static final class Change {
+        final Task before;
+        final Task after;
+        final int slot;
+
+        Change(Task before, Task after, int slot) {
+            this.before = before;
+            this.after = after;
+            this.slot = slot;
+        }
+
+        int getId() {
+            return before != null ? before.getId() : after.getId();
+        }
+    }
+
+    /**
+     * Collects the changes of a step while it is being made.
+     */
+    static final class Recorder {
+        private final TaskVector before;
+        private final int packCount;
+        private final List<Change> changes = new ArrayList<>(1);
+
+        Recorder(TaskSlots slots) {
+            this.before = slots.getVector();
+            this.packCount = slots.getPackCount();
+        }
+
+        void record(Task before, Task after, int slot) {
+            changes.add(new Change(before, after, slot));
+        }
+
+        Step finish(TaskSlots slots) {
+            return new Step(before, slots.getVector(), changes, slots.getPackCount() != packCount);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Scanner;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of changes made to the task list since the last snapshot.
+ * Every change is one short line, so writing it costs the same no matter how many tasks there are.
+ * Changes name their task by id (e.g. "M #12"). Journals written before tasks had ids name it by its
+ * 0-based position instead, and those records are still understood.
+ *
+ * Each record is written out as soon as it is made, unless the journal is told to hold records until
+ * flush() so that a burst of changes goes to disk in one write. Held records stay in memory however many
+ * there are, so the file only changes when the journal writes it, and the journal remembers the file's
+ * size and time after each of its own writes. That lets isChangedOutside() tell its own appends from
+ * someone else's. Records that could not be written stay held, so the next flush() tries them again.
+ * A journal can also be told to force every write to the disk instead of leaving it with the system.
+ *
+ * The first line holds a checksum of the snapshot the journal applies to. If the app dies after a new
+ * snapshot was written but before the journal was cleared, the checksum no longer matches and the
+ * journal is dropped instead of being applied twice.
+ */
+public class TaskJournal {
+    static final char ADD = 'A';
+    static final char MARK = 'M';
+    static final char UNMARK = 'U';
+    static final char DELETE = 'X';
+    private static final String SNAPSHOT_HEADER = "S ";
+
+    private final File file;
+    private final File snapshotFile;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final StringBuilder pending = new StringBuilder();
+    private FileOutputStream out;
+    private int recordCount;
+    private boolean isFlushEachRecord = true;
+    private boolean isForced;
+    // Written but not forced to disk yet, e.g. because forcing it failed
+    private boolean isUnforced;
+    // The file holds a journal for another snapshot, to be written over instead of added to
+    private boolean isStale;
+    private long snapshotChecksum;
+    // The file as the journal last left it; read without a lock by isChangedOutside()
+    private volatile long writtenModified = -1;
+    private volatile long writtenLength = -1;
+
+    public TaskJournal(String filePath, String snapshotFilePath) {
+        this.file = new File(filePath);
+        this.snapshotFile = new File(snapshotFilePath);
+    }
+
+    /**
+     * @throws IOException If the record could not be written. It is still held, and the next flush tries again.
+     */
+    public void recordAdd(Task task) throws IOException {
+        holdAdd(task);
+        writeHeld();
+    }
+
+    /**
+     * @throws IOException If the record could not be written. It is still held, and the next flush tries again.
+     */
+    public void recordMark(int id) throws IOException {
+        hold(MARK, id);
+        writeHeld();
+    }
+
+    /**
+     * @throws IOException If the record could not be written. It is still held, and the next flush tries again.
+     */
+    public void recordUnmark(int id) throws IOException {
+        hold(UNMARK, id);
+        writeHeld();
+    }
+
+    /**
+     * @throws IOException If the record could not be written. It is still held, and the next flush tries again.
+     */
+    public void recordDelete(int id) throws IOException {
+        hold(DELETE, id);
+        writeHeld();
+    }
+
+    /**
+     * Records the same change (MARK, UNMARK or DELETE) for several tasks, writing once at the end.
+     *
+     * @throws IOException If the records could not be written. They are still held, and the next flush tries again.
+     */
+    void recordAll(char type, int[] ids) throws IOException {
+        for (int id : ids) {
+            hold(type, id);
+        }
+        writeHeld();
+    }
+
+    /**
+     * Holds a record of an added task without writing it, so that several records can be written at once
+     * with writeHeld().
+     */
+    void holdAdd(Task task) {
+        write(ADD + " " + TextTaskFormat.toLine(task));
+    }
+
+    /**
+     * Holds a record of a change (MARK, UNMARK or DELETE) without writing it; see holdAdd().
+     */
+    void hold(char type, int id) {
+        write(type + " " + TextTaskFormat.ID_PREFIX + id);
+    }
+
+    /**
+     * Writes the records held so far, unless the journal holds them until flush() anyway.
+     *
+     * @throws IOException If they could not be written. They are still held, and the next flush tries again.
+     */
+    void writeHeld() throws IOException {
+        if (isFlushEachRecord) {
+            writePending();
+        }
+    }
+
+    /**
+     * Writes out the records held since the last flush.
+     *
+     * @throws IOException If they could not be written. They are still held, and the next flush tries again.
+     */
+    public void flush() throws IOException {
+        writePending();
+    }
+
+    /**
+     * @param isFlushEachRecord false to hold records in memory until flush(), close() or reset().
+     */
+    public void setFlushEachRecord(boolean isFlushEachRecord) {
+        this.isFlushEachRecord = isFlushEachRecord;
+    }
+
+    /**
+     * @param isForced true to force every write to the disk before it counts as done.
+     */
+    public void setForced(boolean isForced) {
+        this.isForced = isForced;
+    }
+
+    /**
+     * @return true if the file is not as the journal last left it, e.g. another copy of the app wrote to it.
+     */
+    public boolean isChangedOutside() {
+        return file.lastModified() != writtenModified || file.length() != writtenLength;
+    }
+
+    /**
+     * Applies every record in the journal file, in order, to a list loaded from the snapshot.
+     * A broken record (e.g. half written when the app crashed) is skipped.
+     *
+     * @param tasks The tasks loaded from the snapshot.
+     * @return The number of records applied.
+     * @throws IOException If the journal or the snapshot could not be read.
+     */
+    public int replay(TaskSlots tasks) throws IOException {
+        recordCount = 0;
+        isStale = false;
+        snapshotChecksum = checksum(snapshotFile);
+        if (!file.exists()) {
+            rememberWritten();
+            return 0;
+        }
+        try (Scanner fileScanner = new Scanner(file)) {
+            String header = fileScanner.hasNextLine() ? fileScanner.nextLine() : "";
+            if (!header.equals(SNAPSHOT_HEADER + Long.toHexString(snapshotChecksum))) {
+                System.out.println("Dropping journal that does not match the snapshot: " + file.getPath());
+                isStale = true;
+                rememberWritten();
+                return 0;
+            }
+            while (fileScanner.hasNextLine()) {
+                String line = fileScanner.nextLine();
+                if (applyRecord(tasks, line)) {
+                    recordCount++;
+                } else {
+                    System.out.println("Skipping broken journal record: " + line);
+                }
+            }
+            if (fileScanner.ioException() != null) {
+                throw fileScanner.ioException();
+            }
+        }
+        rememberWritten();
+        return recordCount;
+    }
+
+    /**
+     * Empties the journal. Only call this once a snapshot holding every change has been written.
+     *
+     * @throws IOException If the journal could not be removed or the new snapshot could not be read.
+     */
+    public void reset() throws IOException {
+        // Everything held back is in the new snapshot already
+        pending.setLength(0);
+        isUnforced = false;
+        close();
+        Files.deleteIfExists(file.toPath());
+        isStale = false;
+        recordCount = 0;
+        snapshotChecksum = checksum(snapshotFile);
+        rememberWritten();
+    }
+
+    /**
+     * Writes out any records held back and closes the file. The file is closed even if the records could
+     * not be written; they are still held, and the next flush opens it again.
+     *
+     * @throws IOException If the records could not be written or the file could not be closed.
+     */
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (out != null) {
+                FileOutputStream closing = out;
+                out = null;
+                closing.close();
+            }
+        }
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    private void write(String record) {
+        if (out == null && pending.length() == 0 && (isStale || file.length() == 0)) {
+            pending.append(SNAPSHOT_HEADER).append(Long.toHexString(snapshotChecksum)).append(LINE_SEPARATOR);
+        }
+        pending.append(record).append(LINE_SEPARATOR);
+        recordCount++;
+    }
+
+    /**
+     * Appends the records held so far to the file in one write, and forces it to disk if asked to.
+     * If the write fails, whatever part of it got into the file is cut off again so that the records are
+     * written whole when they are tried again.
+     */
+    private void writePending() throws IOException {
+        if (pending.length() == 0 && !isUnforced) {
+            return;
+        }
+        if (out == null) {
+            out = new FileOutputStream(file, !isStale);
+            isStale = false;
+        }
+        FileChannel channel = out.getChannel();
+        if (pending.length() > 0) {
+            long length = channel.size();
+            try {
+                out.write(pending.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                try {
+                    channel.truncate(length);
+                } catch (IOException truncateError) {
+                    e.addSuppressed(truncateError);
+                }
+                rememberWritten();
+                throw e;
+            }
+            pending.setLength(0);
+            isUnforced = isForced;
+            rememberWritten();
+        }
+        if (isUnforced) {
+            channel.force(false);
+            isUnforced = false;
+        }
+    }
+
+    private void rememberWritten() {
+        writtenModified = file.lastModified();
+        writtenLength = file.length();
+    }
+
+    private static long checksum(File snapshot) throws IOException {
+        CRC32 crc = new CRC32();
+        if (!snapshot.exists()) {
+            return crc.getValue();
+        }
+        try (InputStream in = new BufferedInputStream(new FileInputStream(snapshot))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static boolean applyRecord(TaskSlots tasks, String line) {
+        if (line.length() < 3 || line.charAt(1) != ' ') {
+            return false;
+        }
+        String body = line.substring(2);
+        if (line.charAt(0) == ADD) {
+            Task task;
+            try {
+                task = Storage.createTaskFromLine(body);
+            } catch (RuntimeException e) {
+                // e.g. a date cut off half way
+                return false;
+            }
+            if (task == null || (task.getId() != 0 && task.getId() < tasks.nextId())) {
+                return false;
+            }
+            tasks.add(task);
+            return true;
+        }
+
+        boolean isId = body.charAt(0) == TextTaskFormat.ID_PREFIX;
+        int number;
+        try {
+            number = Integer.parseInt(isId ? body.substring(1) : body);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        Task task;
+        if (isId) {
+            task = tasks.getById(number);
+        } else {
+            task = number >= 0 && number < tasks.size() ? tasks.get(number) : null;
+        }
+        if (task == null) {
+            return false;
+        }
+        switch (line.charAt(0)) {
+            case MARK:
+                tasks.replace(task.withDone(true));
+                return true;
+            case UNMARK:
+                tasks.replace(task.withDone(false));
+                return true;
+            case DELETE:
+                tasks.removeById(task.getId());
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.util.List;
+
+/**
+ * Told about every change to a TaskRepository, so things kept alongside the list can follow it
+ * without scanning it again.
+ *
+ * Called on the thread making the change while the repository is locked, so it should be quick and
+ * must not call back into the repository.
+ */
+public interface TaskListener {
+    void taskAdded(Task task);
+
+    void taskRemoved(Task task);
+
+    /**
+     * @param task The task as it was.
+     * @param updated The copy that replaced it, with the same id.
+     */
+    void taskChanged(Task task, Task updated);
+
+    /**
+     * The whole list was read again, e.g. because the file was changed outside the app.
+     */
+    void tasksReloaded(List<Task> tasks);
+}
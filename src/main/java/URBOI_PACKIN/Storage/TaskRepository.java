@@ -0,0 +1,795 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Index.DateIndex;
+import URBOI_PACKIN.Index.KeywordIndex;
+import URBOI_PACKIN.Metrics.Metrics;
+import URBOI_PACKIN.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the task list in memory for as long as the app is running.
+ * The backing file is read once on creation and only read again if it was changed outside the app.
+ *
+ * Every task has an id that is saved with it and never reused, so "#12" keeps meaning the same task after
+ * other tasks are deleted. Tasks can be looked up by id or by their number in the list; see TaskSlots.
+ *
+ * Changes are made one at a time. Each one builds a new version of the list that shares most of the old
+ * one and is published when the change is complete, so getTasks(), size() and get() never wait for a lock.
+ * The keyword and date indexes have a read-write lock of their own. A change holds it only while it updates
+ * the indexes, never while it writes to disk, so find() and the date lookups do not wait behind a save.
+ * Tasks in the list are never changed in place; marking one swaps in a copy.
+ *
+ * Every change can be undone and redone, up to a number of steps; see TaskHistory.
+ *
+ * Done tasks can be moved out of the list into a TaskArchive in a folder next to the file, which is only
+ * read when archived tasks are asked for. Archived tasks keep their ids, and the ids are not given out again.
+ *
+ * In journaled mode, changes are appended to a journal next to the snapshot file instead of rewriting
+ * the snapshot. Once the journal gets long it is folded back into the snapshot in the background.
+ * A change whose journal record cannot be written is still made; the record is kept and the next save()
+ * writes it or throws.
+ *
+ * If the files cannot be read, the list holds none of the snapshot and nothing is saved until they can be,
+ * so the tasks that could not be read are never written over.
+ */
+public class TaskRepository {
+    public static final String JOURNAL_SUFFIX = ".journal";
+    public static final String ARCHIVE_SUFFIX = ".archive";
+    private static final int DEFAULT_COMPACT_THRESHOLD = 1000;
+    // How many changes can be undone, set with -Durboi.undoDepth=N
+    private static final int UNDO_DEPTH = Integer.getInteger("urboi.undoDepth", 1000);
+
+    private static final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String filePath;
+    private final TaskSlots tasks = new TaskSlots();
+    private final TaskJournal journal;
+    private final TaskArchive archive;
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+    private final DateIndex dateIndex = new DateIndex();
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final TaskHistory history = new TaskHistory(UNDO_DEPTH);
+    private final int compactThreshold;
+    private final List<TaskListener> listeners = new CopyOnWriteArrayList<>();
+    private AtomicSnapshotWriter snapshotWriter;
+
+    private boolean isCompactionPending = false;
+    // Why the files could not be read, or null if they could
+    private IOException loadError;
+    // Read without the lock by isChangedOnDisk()
+    private volatile long lastModified = -1;
+    private volatile long lastLength = -1;
+
+    public TaskRepository(String filePath) {
+        this(filePath, false);
+    }
+
+    public TaskRepository(String filePath, boolean isJournaled) {
+        this(filePath, isJournaled, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    /**
+     * Creates a repository and loads its tasks.
+     *
+     * @param filePath The snapshot file.
+     * @param isJournaled Whether changes go to an append-only journal instead of rewriting the snapshot.
+     * @param compactThreshold The number of journal records after which the journal is folded into the snapshot.
+     */
+    public TaskRepository(String filePath, boolean isJournaled, int compactThreshold) {
+        this.filePath = filePath;
+        this.journal = isJournaled ? new TaskJournal(filePath + JOURNAL_SUFFIX, filePath) : null;
+        this.compactThreshold = compactThreshold;
+        this.archive = new TaskArchive(filePath + ARCHIVE_SUFFIX);
+        this.snapshotWriter = new AtomicSnapshotWriter(filePath, false, 0);
+        load();
+    }
+
+    /**
+     * Throws away the in-memory list and reads it again from the snapshot, replaying the journal if there is one.
+     * If either cannot be read the list is left without the snapshot's tasks and saving is refused until a
+     * load succeeds.
+     */
+    public synchronized void load() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                // Reading the list again would lose the changes the journal could not write; save() reports it
+                return;
+            }
+        }
+        long start = Metrics.start();
+        tasks.clear();
+        history.clear();
+        loadError = null;
+        try {
+            readSnapshot();
+            if (journal != null) {
+                journal.replay(tasks);
+            }
+        } catch (IOException e) {
+            loadError = e;
+            tasks.clear();
+            System.out.println("Error loading tasks from file, so they will not be saved: " + e.getMessage());
+        }
+        tasks.reserveIds(archive.getLastId());
+        updateIndexes(() -> {
+            keywordIndex.clear();
+            dateIndex.clear();
+            for (Task task : tasks) {
+                index(task);
+            }
+        });
+        tasks.publish();
+        rememberFileState();
+        Metrics.record(Metrics.LOAD, start);
+        for (TaskListener listener : listeners) {
+            listener.tasksReloaded(tasks.asList());
+        }
+    }
+
+    /**
+     * Tells a listener about every change from now on. It is not told about the tasks already in the list.
+     */
+    public void addListener(TaskListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reloads the tasks if the backing files' modification time or size is not what we last saw.
+     *
+     * @return true if the tasks were reloaded.
+     */
+    public synchronized boolean refreshIfChanged() {
+        if (!isChangedOnDisk()) {
+            return false;
+        }
+        load();
+        return true;
+    }
+
+    /**
+     * Checks without waiting for a change or save in progress.
+     *
+     * @return true if the backing files' modification time or size is not what we last saw.
+     */
+    public boolean isChangedOnDisk() {
+        File file = new File(filePath);
+        boolean isSnapshotSame = file.lastModified() == lastModified && file.length() == lastLength;
+        // The journal keeps track of its own writes, which may happen between saves
+        boolean isJournalSame = journal == null || !journal.isChangedOutside();
+        return !isSnapshotSame || !isJournalSame;
+    }
+
+    /**
+     * Makes the changes so far persistent. Without a journal this rewrites the snapshot; with one any
+     * records held back are written to the journal, and at most a background compaction is started.
+     *
+     * @throws IOException If the snapshot or the journal could not be written. Journal records that could
+     *     not be written are kept for the next save.
+     */
+    public synchronized void save() throws IOException {
+        checkLoaded();
+        long start = Metrics.start();
+        if (journal == null) {
+            writeSnapshot();
+        } else {
+            journal.flush();
+            rememberFileState();
+            if (journal.getRecordCount() >= compactThreshold && !isCompactionPending) {
+                isCompactionPending = true;
+                compactor.execute(this::compactInBackground);
+            }
+        }
+        Metrics.record(Metrics.SAVE, start);
+    }
+
+    /**
+     * Writes the whole list to the snapshot and empties the journal.
+     * If the snapshot cannot be written the journal is kept, so no change is lost.
+     *
+     * @throws IOException If the snapshot could not be written.
+     */
+    public synchronized void compact() throws IOException {
+        isCompactionPending = false;
+        checkLoaded();
+        writeSnapshot();
+        if (journal != null) {
+            journal.reset();
+            rememberFileState();
+        }
+    }
+
+    /**
+     * Holds journal records in memory until the next save() instead of writing each one as it is made.
+     * Use this when something else (e.g. a SaveScheduler) calls save() soon after every change.
+     */
+    public synchronized void setDeferJournalWrites(boolean isDeferred) {
+        if (journal != null) {
+            journal.setFlushEachRecord(!isDeferred);
+        }
+    }
+
+    /**
+     * Sets how snapshots are written, e.g. to force them to disk or keep backups. The journal is forced to
+     * disk when snapshots are.
+     */
+    public synchronized void setSnapshotWriter(AtomicSnapshotWriter snapshotWriter) {
+        this.snapshotWriter = snapshotWriter;
+        if (journal != null) {
+            journal.setForced(snapshotWriter.isDurable());
+        }
+    }
+
+    /**
+     * Reads the latest published list, without waiting for a change in progress.
+     */
+    public int size() {
+        return tasks.asList().size();
+    }
+
+    /**
+     * Reads the latest published list, without waiting for a change in progress.
+     *
+     * @param index The 0-based position in the list.
+     */
+    public Task get(int index) {
+        return tasks.asList().get(index);
+    }
+
+    /**
+     * @return The task with the id, or null if there is none.
+     */
+    public synchronized Task getById(int id) {
+        return tasks.getById(id);
+    }
+
+    /**
+     * @return The 0-based position of the task with the id, or -1 if there is none.
+     */
+    public synchronized int indexOfId(int id) {
+        return tasks.indexOfId(id);
+    }
+
+    /**
+     * Adds a new task at the end of the list and gives it the next id.
+     */
+    public synchronized void add(Task task) {
+        TaskHistory.Recorder step = new TaskHistory.Recorder(tasks);
+        task.setId(tasks.nextId());
+        tasks.add(task);
+        step.record(null, task, tasks.slotOf(task.getId()));
+        history.push(step.finish(tasks));
+        updateIndexes(() -> index(task));
+        if (journal != null) {
+            record(() -> journal.recordAdd(task));
+        }
+        tasks.publish();
+        for (TaskListener listener : listeners) {
+            listener.taskAdded(task);
+        }
+    }
+
+    /**
+     * Adds many new tasks at the end of the list in one go, e.g. from an import, giving them the next ids.
+     * Readers see either none or all of them, and they are undone as one step.
+     *
+     * In journaled mode a large batch is written as a new snapshot instead of a journal record per task.
+     *
+     * @throws IOException If the snapshot or the journal could not be written. The tasks are added anyway.
+     */
+    public synchronized void addAll(List<Task> newTasks) throws IOException {
+        if (newTasks.isEmpty()) {
+            return;
+        }
+        TaskHistory.Recorder step = new TaskHistory.Recorder(tasks);
+        for (Task task : newTasks) {
+            task.setId(tasks.nextId());
+            tasks.add(task);
+            step.record(null, task, tasks.slotOf(task.getId()));
+        }
+        updateIndexes(() -> newTasks.forEach(this::index));
+        history.push(step.finish(tasks));
+        tasks.publish();
+        for (Task task : newTasks) {
+            for (TaskListener listener : listeners) {
+                listener.taskAdded(task);
+            }
+        }
+        if (journal != null && newTasks.size() >= compactThreshold) {
+            compact();
+        } else if (journal != null) {
+            checkLoaded();
+            newTasks.forEach(journal::holdAdd);
+            journal.writeHeld();
+        }
+    }
+
+    public synchronized Task remove(int index) {
+        return removeById(tasks.get(index).getId());
+    }
+
+    /**
+     * @return The task removed, or null if there is no task with the id.
+     */
+    public synchronized Task removeById(int id) {
+        TaskHistory.Recorder step = new TaskHistory.Recorder(tasks);
+        int slot = tasks.slotOf(id);
+        Task removedTask = tasks.removeById(id);
+        if (removedTask == null) {
+            return null;
+        }
+        step.record(removedTask, null, slot);
+        history.push(step.finish(tasks));
+        updateIndexes(() -> {
+            keywordIndex.remove(removedTask);
+            dateIndex.remove(removedTask);
+        });
+        if (journal != null) {
+            record(() -> journal.recordDelete(id));
+        }
+        tasks.publish();
+        for (TaskListener listener : listeners) {
+            listener.taskRemoved(removedTask);
+        }
+        return removedTask;
+    }
+
+    public synchronized Task markDone(int index) {
+        return markDoneById(tasks.get(index).getId());
+    }
+
+    /**
+     * @return The task as it is now, or null if there is no task with the id.
+     */
+    public synchronized Task markDoneById(int id) {
+        return setDoneById(id, true);
+    }
+
+    public synchronized Task markNotDone(int index) {
+        return markNotDoneById(tasks.get(index).getId());
+    }
+
+    /**
+     * @return The task as it is now, or null if there is no task with the id.
+     */
+    public synchronized Task markNotDoneById(int id) {
+        return setDoneById(id, false);
+    }
+
+    /**
+     * Marks several tasks as done or not done in one go, writing the journal once at the end.
+     * Readers see either none or all of the changes.
+     *
+     * @param selected Tasks from this list. Tasks already in the wanted state are left alone.
+     * @return The number of tasks that changed.
+     */
+    public synchronized int markAll(Collection<Task> selected, boolean isDone) {
+        TaskHistory.Recorder step = new TaskHistory.Recorder(tasks);
+        int[] changedIds = new int[selected.size()];
+        int changed = 0;
+        // One hold of the lock for the lot, so a find() sees all of the changes or none
+        indexLock.writeLock().lock();
+        try {
+            for (Task task : selected) {
+                Task current = tasks.getById(task.getId());
+                if (current == null || current.isDone() == isDone) {
+                    continue;
+                }
+                replace(current, current.withDone(isDone), step);
+                changedIds[changed++] = task.getId();
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        history.push(step.finish(tasks));
+        if (journal != null && changed > 0) {
+            int[] ids = Arrays.copyOf(changedIds, changed);
+            record(() -> journal.recordAll(isDone ? TaskJournal.MARK : TaskJournal.UNMARK, ids));
+        }
+        tasks.publish();
+        return changed;
+    }
+
+    /**
+     * Removes several tasks in one go, writing the journal once at the end.
+     * Readers see either none or all of the changes.
+     *
+     * @param selected Tasks from this list.
+     * @return The number of tasks removed.
+     */
+    public synchronized int removeAll(Collection<Task> selected) {
+        TaskHistory.Recorder step = new TaskHistory.Recorder(tasks);
+        List<Task> removedTasks = new ArrayList<>(selected.size());
+        int[] removedIds = new int[selected.size()];
+        int removed = 0;
+        for (Task task : selected) {
+            int slot = tasks.slotOf(task.getId());
+            Task current = tasks.removeById(task.getId());
+            if (current == null) {
+                continue;
+            }
+            step.record(current, null, slot);
+            removedTasks.add(current);
+            removedIds[removed++] = current.getId();
+        }
+        updateIndexes(() -> {
+            removedTasks.forEach(dateIndex::remove);
+            keywordIndex.removeAll(removedTasks);
+        });
+        history.push(step.finish(tasks));
+        if (journal != null && removed > 0) {
+            int[] ids = Arrays.copyOf(removedIds, removed);
+            record(() -> journal.recordAll(TaskJournal.DELETE, ids));
+        }
+        tasks.publish();
+        for (Task removedTask : removedTasks) {
+            for (TaskListener listener : listeners) {
+                listener.taskRemoved(removedTask);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Moves every done task out of the list and into the archive, then saves the list. The archive is
+     * written first, so a crash in between can leave a task in both but never in neither.
+     *
+     * @param month The month to file the tasks under.
+     * @return The number of tasks archived.
+     * @throws IOException If the archive or the list could not be written. The list is unchanged if the
+     *     archive could not be written.
+     */
+    public synchronized int archiveDone(YearMonth month) throws IOException {
+        checkLoaded();
+        List<Task> done = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.isDone()) {
+                done.add(task);
+            }
+        }
+        if (done.isEmpty()) {
+            return 0;
+        }
+        archive.add(done, month);
+        removeAll(done);
+        // Bringing tasks back from the archive is not supported, so what came before cannot be undone
+        history.clear();
+        save();
+        return done.size();
+    }
+
+    /**
+     * @return The archived tasks, read as they are needed.
+     */
+    public TaskArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Takes back the last change that was not undone yet, e.g. a task added or several tasks deleted.
+     *
+     * @return What was undone, e.g. "deleting 3 tasks", or null if there is nothing to undo.
+     * @throws IOException If the change brought deleted tasks back and the snapshot could not be written.
+     */
+    public synchronized String undo() throws IOException {
+        TaskHistory.Step step = history.undo();
+        if (step == null) {
+            return null;
+        }
+        apply(step, true);
+        return step.describe();
+    }
+
+    /**
+     * Makes the last change undone again.
+     *
+     * @return What was redone, or null if there is nothing to redo.
+     * @throws IOException If the change brought deleted tasks back and the snapshot could not be written.
+     */
+    public synchronized String redo() throws IOException {
+        TaskHistory.Step step = history.redo();
+        if (step == null) {
+            return null;
+        }
+        apply(step, false);
+        return step.describe();
+    }
+
+    public synchronized int getUndoCount() {
+        return history.getUndoCount();
+    }
+
+    public synchronized int getRedoCount() {
+        return history.getRedoCount();
+    }
+
+    /**
+     * Get the tasks as they were after the last change. The list never changes, so it can be read
+     * without a lock while other threads change the repository.
+     *
+     * @return The tasks, in list order.
+     */
+    public List<Task> getTasks() {
+        return tasks.asList();
+    }
+
+    /**
+     * Finds the tasks that have a word starting with each of the keywords, using the keyword index.
+     *
+     * @param keywords The keywords, all of which must match. Case does not matter.
+     * @return The matching tasks in list order.
+     */
+    public List<Task> find(Collection<String> keywords) {
+        return readIndexes(() -> keywordIndex.find(keywords));
+    }
+
+    /**
+     * Finds the deadlines due and the events happening between two moments, both included.
+     *
+     * @return The tasks, earliest first.
+     */
+    public List<Task> getTasksBetween(LocalDateTime from, LocalDateTime to) {
+        return readIndexes(() -> dateIndex.between(from, to));
+    }
+
+    /**
+     * Finds the deadlines that are not done and were due before a moment.
+     *
+     * @return The tasks, earliest first.
+     */
+    public List<Task> getOverdueTasks(LocalDateTime now) {
+        return readIndexes(() -> dateIndex.overdue(now));
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
+    private Task setDoneById(int id, boolean isDone) {
+        Task task = tasks.getById(id);
+        if (task == null) {
+            return null;
+        }
+        if (task.isDone() == isDone) {
+            // Nothing changes, so there is nothing to undo or save
+            return task;
+        }
+        TaskHistory.Recorder step = new TaskHistory.Recorder(tasks);
+        Task updated = task.withDone(isDone);
+        replace(task, updated, step);
+        history.push(step.finish(tasks));
+        if (journal != null) {
+            record(() -> {
+                if (isDone) {
+                    journal.recordMark(id);
+                } else {
+                    journal.recordUnmark(id);
+                }
+            });
+        }
+        tasks.publish();
+        return updated;
+    }
+
+    /**
+     * Swaps a task for its changed copy in the list and the indexes. Not yet published.
+     */
+    private void replace(Task task, Task updated, TaskHistory.Recorder step) {
+        step.record(task, updated, tasks.slotOf(task.getId()));
+        tasks.replace(updated);
+        updateIndexes(() -> {
+            keywordIndex.update(updated);
+            dateIndex.remove(task);
+            dateIndex.add(updated);
+        });
+        for (TaskListener listener : listeners) {
+            listener.taskChanged(task, updated);
+        }
+    }
+
+    /**
+     * Goes to the version of the list before or after a step, then fixes the indexes and tells the journal
+     * and listeners about the tasks the step changed.
+     *
+     * The journal can only add tasks at the end, so a step that brings back tasks in the middle of the
+     * list writes a new snapshot instead.
+     */
+    private void apply(TaskHistory.Step step, boolean isUndo) throws IOException {
+        tasks.restore(isUndo ? step.before : step.after, step.changes, isUndo, step.isRepacked);
+        List<Task> removedTasks = new ArrayList<>();
+        List<Integer> markedIds = new ArrayList<>();
+        List<Integer> unmarkedIds = new ArrayList<>();
+        boolean isAnyAdded = false;
+        indexLock.writeLock().lock();
+        try {
+            for (TaskHistory.Change change : step.changes) {
+                Task from = isUndo ? change.after : change.before;
+                Task to = isUndo ? change.before : change.after;
+                if (from == null) {
+                    index(to);
+                    isAnyAdded = true;
+                } else if (to == null) {
+                    dateIndex.remove(from);
+                    removedTasks.add(from);
+                } else {
+                    keywordIndex.update(to);
+                    dateIndex.remove(from);
+                    dateIndex.add(to);
+                    (to.isDone() ? markedIds : unmarkedIds).add(to.getId());
+                }
+            }
+            keywordIndex.removeAll(removedTasks);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        tasks.publish();
+
+        for (TaskHistory.Change change : step.changes) {
+            Task from = isUndo ? change.after : change.before;
+            Task to = isUndo ? change.before : change.after;
+            for (TaskListener listener : listeners) {
+                if (from == null) {
+                    listener.taskAdded(to);
+                } else if (to == null) {
+                    listener.taskRemoved(from);
+                } else {
+                    listener.taskChanged(from, to);
+                }
+            }
+        }
+        if (journal != null && isAnyAdded) {
+            compact();
+        } else if (journal != null) {
+            checkLoaded();
+            removedTasks.forEach(task -> journal.hold(TaskJournal.DELETE, task.getId()));
+            markedIds.forEach(id -> journal.hold(TaskJournal.MARK, id));
+            unmarkedIds.forEach(id -> journal.hold(TaskJournal.UNMARK, id));
+            journal.writeHeld();
+        }
+    }
+
+    /**
+     * Writes a journal record for a change that has no way to report a failed write. The journal keeps
+     * a record it could not write, so it is not lost: the next save() writes it or throws.
+     */
+    private void record(JournalWrite write) {
+        if (loadError != null) {
+            // Not kept either: the records would not fit the files once they can be read
+            return;
+        }
+        try {
+            write.run();
+        } catch (IOException e) {
+            // Left for save() to report
+        }
+    }
+
+    private interface JournalWrite {
+        void run() throws IOException;
+    }
+
+    /**
+     * Changes the indexes while holding their write lock, so a lookup never sees a change half made.
+     */
+    private void updateIndexes(Runnable change) {
+        indexLock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private <T> T readIndexes(Supplier<T> query) {
+        indexLock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private void index(Task task) {
+        keywordIndex.add(task);
+        dateIndex.add(task);
+    }
+
+    /**
+     * Adds the snapshot's tasks to the list, or none of them if it cannot be read.
+     */
+    private void readSnapshot() throws IOException {
+        if (!new File(filePath).exists()) {
+            return;
+        }
+        // A format that fails part way leaves the tasks before the failure in here
+        ArrayList<Task> loaded = new ArrayList<>();
+        long start = Metrics.start();
+        List<String> errors = snapshotWriter.getFormat().read(filePath, loaded);
+        Metrics.record(Metrics.PARSE, start);
+        Metrics.countLoad(new File(filePath).length(), loaded.size() + errors.size(), errors.size());
+        for (String error : errors) {
+            System.out.println("Skipping malformed task in " + filePath + ": " + error);
+        }
+        if (!hasIncreasingIds(loaded)) {
+            // Likely edited by hand. Number the tasks again so ids stay unique and in list order.
+            System.out.println("Task ids in " + filePath + " are out of order, giving the tasks new ids");
+            for (Task task : loaded) {
+                task.setId(0);
+            }
+            tasks.reserveIds(archive.getLastId());
+        }
+        for (Task task : loaded) {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * @return true if every task that has an id has a larger one than the tasks before it,
+     *     counting the id each task without one would be given.
+     */
+    private static boolean hasIncreasingIds(List<Task> loaded) {
+        int lastId = 0;
+        for (Task task : loaded) {
+            if (task.getId() == 0) {
+                lastId++;
+            } else if (task.getId() <= lastId) {
+                return false;
+            } else {
+                lastId = task.getId();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws IOException If the files could not be read when the list was loaded. Writing the list then
+     *     would replace the tasks that could not be read, and in time the backups too.
+     */
+    private void checkLoaded() throws IOException {
+        if (loadError != null) {
+            throw new IOException(new File(filePath).getName() + " could not be read, so it is not saved over: "
+                    + loadError.getMessage());
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        snapshotWriter.write(tasks.asList());
+        rememberFileState();
+    }
+
+    private void compactInBackground() {
+        try {
+            compact();
+        } catch (IOException e) {
+            // The journal still holds every change, and the next save() starts another try
+        }
+    }
+
+    private void rememberFileState() {
+        File file = new File(filePath);
+        lastModified = file.lastModified();
+        lastLength = file.length();
+    }
+}
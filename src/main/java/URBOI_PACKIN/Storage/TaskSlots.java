@@ -0,0 +1,219 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Holds the task list so tasks can be found both by id and by their 1-based number in the list.
+ *
+ * The slots live in an immutable TaskVector. Every change makes a new vector sharing most of the old one,
+ * and publish() hands the latest to readers through asList(), so a reader takes the current list without
+ * a lock and keeps a consistent view however long it looks at it. Every other method is for the one thread
+ * changing the slots and sees changes straight away, published or not.
+ *
+ * Deleting a task only leaves a tombstone in its slot, so nothing after it has to move. The vector counts
+ * the live slots, which turns a list number into a slot (and back) in O(log n), and a hash map finds a
+ * task's slot from its id in O(1). Once tombstones outnumber the live tasks the slots are packed again in
+ * one pass.
+ *
+ * Ids only go up, and new tasks are always added at the end, so slot order, id order and list order agree.
+ */
+public class TaskSlots implements Iterable<Task> {
+    private static final int MIN_TOMBSTONES_TO_PACK = 32;
+
+    private final HashMap<Integer, Integer> slotById = new HashMap<>();
+    private TaskVector slots = TaskVector.EMPTY;
+    private volatile TaskVector published = TaskVector.EMPTY;
+    private int lastId;
+    private int packCount;
+
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * @return The id the next task without one will get.
+     */
+    public int nextId() {
+        return lastId + 1;
+    }
+
+    /**
+     * Makes sure ids up to the given one are never handed out, e.g. because tasks that had them were archived.
+     */
+    public void reserveIds(int id) {
+        lastId = Math.max(lastId, id);
+    }
+
+    /**
+     * Adds a task at the end of the list. A task without an id (id 0) is given the next one.
+     *
+     * @throws IllegalArgumentException If the task already has an id that is not above every id in the list.
+     */
+    public void add(Task task) {
+        if (task.getId() == 0) {
+            task.setId(nextId());
+        } else if (task.getId() <= lastId) {
+            throw new IllegalArgumentException("task id #" + task.getId() + " is not after #" + lastId);
+        }
+        slotById.put(task.getId(), slots.slotCount());
+        slots = slots.append(task);
+        lastId = task.getId();
+    }
+
+    /**
+     * Puts a new copy of a task in the place of the task with the same id.
+     *
+     * @return The task replaced, or null if there is no task with the id.
+     */
+    public Task replace(Task task) {
+        Integer slot = slotById.get(task.getId());
+        if (slot == null) {
+            return null;
+        }
+        Task replaced = slots.getSlot(slot);
+        slots = slots.setSlot(slot, task);
+        return replaced;
+    }
+
+    /**
+     * @param index The 0-based position in the list.
+     */
+    public Task get(int index) {
+        return slots.getSlot(slots.slotAt(index));
+    }
+
+    /**
+     * @return The task with the id, or null if there is none.
+     */
+    public Task getById(int id) {
+        Integer slot = slotById.get(id);
+        return slot == null ? null : slots.getSlot(slot);
+    }
+
+    /**
+     * @return The 0-based position of the task with the id, or -1 if there is none.
+     */
+    public int indexOfId(int id) {
+        Integer slot = slotById.get(id);
+        return slot == null ? -1 : slots.liveBefore(slot);
+    }
+
+    /**
+     * @param index The 0-based position in the list.
+     * @return The task removed.
+     */
+    public Task remove(int index) {
+        return removeSlot(slots.slotAt(index));
+    }
+
+    /**
+     * @return The task removed, or null if there is no task with the id.
+     */
+    public Task removeById(int id) {
+        Integer slot = slotById.get(id);
+        return slot == null ? null : removeSlot(slot);
+    }
+
+    public void clear() {
+        slotById.clear();
+        slots = TaskVector.EMPTY;
+        lastId = 0;
+    }
+
+    /**
+     * @return The slots as they are now. They never change, so they can be kept to go back to with restore().
+     */
+    TaskVector getVector() {
+        return slots;
+    }
+
+    /**
+     * @return How many times the slots have been packed, which moves tasks to other slots.
+     */
+    int getPackCount() {
+        return packCount;
+    }
+
+    /**
+     * @return The slot of the task with the id, or -1 if there is none.
+     */
+    int slotOf(int id) {
+        Integer slot = slotById.get(id);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Switches to an earlier or later version of the slots, e.g. to undo a change.
+     *
+     * @param version The slots to switch to.
+     * @param changes The changes between the current version and that one. Only the ids of these tasks
+     *     are looked up again, unless the slots were packed in between.
+     * @param isUndo true to go to the version before the changes, false to go to the one after.
+     */
+    void restore(TaskVector version, List<TaskHistory.Change> changes, boolean isUndo, boolean isRepacked) {
+        slots = version;
+        if (isRepacked) {
+            slotById.clear();
+            for (int slot = 0; slot < slots.slotCount(); slot++) {
+                Task task = slots.getSlot(slot);
+                if (task != null) {
+                    slotById.put(task.getId(), slot);
+                }
+            }
+            return;
+        }
+        for (TaskHistory.Change change : changes) {
+            if ((isUndo ? change.before : change.after) == null) {
+                slotById.remove(change.getId());
+            } else {
+                slotById.put(change.getId(), change.slot);
+            }
+        }
+    }
+
+    /**
+     * Makes every change so far visible to readers at once.
+     */
+    public void publish() {
+        published = slots;
+    }
+
+    /**
+     * Get the latest published list. It is read-only and never changes, so it can be read without a lock.
+     */
+    public List<Task> asList() {
+        return published.asList();
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return slots.iterator();
+    }
+
+    private Task removeSlot(int slot) {
+        Task task = slots.getSlot(slot);
+        slots = slots.setSlot(slot, null);
+        slotById.remove(task.getId());
+        int tombstones = slots.slotCount() - slots.size();
+        if (tombstones >= MIN_TOMBSTONES_TO_PACK && tombstones > slots.size()) {
+            pack();
+        }
+        return task;
+    }
+
+    /**
+     * Moves the live tasks into consecutive slots of a new vector.
+     */
+    private void pack() {
+        slots = TaskVector.of(slots.asList());
+        packCount++;
+        int slot = 0;
+        for (Iterator<Task> iterator = slots.iterator(); iterator.hasNext(); slot++) {
+            slotById.put(iterator.next().getId(), slot);
+        }
+    }
+}
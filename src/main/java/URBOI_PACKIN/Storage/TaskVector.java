@@ -0,0 +1,261 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An immutable array of task slots, stored as a 32-way trie so a changed copy shares all but one path
+ * with the original. A slot is null once its task is deleted.
+ *
+ * Every node knows how many live tasks are below it, which turns a position in the list into a slot
+ * (and back) by walking down the trie.
+ */
+final class TaskVector {
+    static final TaskVector EMPTY = new TaskVector(new Node(new Object[0], 0), 0, 0, 0);
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final Node root;
+    private final int shift;
+    private final int slotCount;
+    private final int size;
+
+    private TaskVector(Node root, int shift, int slotCount, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.slotCount = slotCount;
+        this.size = size;
+    }
+
+    /**
+     * @return The number of live tasks.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of slots, including those of deleted tasks.
+     */
+    int slotCount() {
+        return slotCount;
+    }
+
+    Task getSlot(int slot) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.children[(slot >>> level) & MASK];
+        }
+        return (Task) node.children[slot & MASK];
+    }
+
+    /**
+     * @return A copy with the task added in a new slot at the end.
+     */
+    TaskVector append(Task task) {
+        if (slotCount == 1 << (shift + BITS)) {
+            Node grown = new Node(new Object[] {root}, root.live);
+            return new TaskVector(grown, shift + BITS, slotCount, size).append(task);
+        }
+        return new TaskVector(set(root, shift, slotCount, task), shift, slotCount + 1, size + 1);
+    }
+
+    /**
+     * @return A copy with the slot holding another task, or null to delete the task in it.
+     */
+    TaskVector setSlot(int slot, Task task) {
+        int delta = (task == null ? 0 : 1) - (getSlot(slot) == null ? 0 : 1);
+        return new TaskVector(set(root, shift, slot, task), shift, slotCount, size + delta);
+    }
+
+    /**
+     * Finds the slot holding the task at a 0-based position.
+     */
+    int slotAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int remaining = index;
+        int slot = 0;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            int child = 0;
+            Node childNode = (Node) node.children[0];
+            while (remaining >= childNode.live) {
+                remaining -= childNode.live;
+                child++;
+                childNode = (Node) node.children[child];
+            }
+            slot += child << level;
+            node = childNode;
+        }
+        for (int i = 0; ; i++) {
+            if (node.children[i] != null && remaining-- == 0) {
+                return slot + i;
+            }
+        }
+    }
+
+    /**
+     * @return The number of live tasks in the slots before the given one.
+     */
+    int liveBefore(int slot) {
+        int live = 0;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            int child = (slot >>> level) & MASK;
+            for (int i = 0; i < child; i++) {
+                live += ((Node) node.children[i]).live;
+            }
+            node = (Node) node.children[child];
+        }
+        for (int i = 0; i < (slot & MASK); i++) {
+            if (node.children[i] != null) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Get a read-only list of the live tasks. It never changes, whatever happens to the repository later.
+     */
+    List<Task> asList() {
+        return new ListView();
+    }
+
+    Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int slot = -1;
+            private Object[] leaf;
+            private Task next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Task next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Task task = next;
+                next = advance();
+                return task;
+            }
+
+            private Task advance() {
+                while (++slot < slotCount) {
+                    if (leaf == null || (slot & MASK) == 0) {
+                        leaf = leafFor(slot);
+                    }
+                    Task task = (Task) leaf[slot & MASK];
+                    if (task != null) {
+                        return task;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Builds a vector holding the tasks in consecutive slots, one level of the trie at a time.
+     */
+    static TaskVector of(List<Task> tasks) {
+        int count = tasks.size();
+        if (count == 0) {
+            return EMPTY;
+        }
+        List<Node> level = new ArrayList<>((count + MASK) / WIDTH);
+        Iterator<Task> iterator = tasks.iterator();
+        for (int start = 0; start < count; start += WIDTH) {
+            Object[] leaf = new Object[Math.min(WIDTH, count - start)];
+            for (int i = 0; i < leaf.length; i++) {
+                leaf[i] = iterator.next();
+            }
+            level.add(new Node(leaf, leaf.length));
+        }
+        int shift = 0;
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>((level.size() + MASK) / WIDTH);
+            for (int start = 0; start < level.size(); start += WIDTH) {
+                Object[] children = level.subList(start, Math.min(start + WIDTH, level.size())).toArray();
+                int live = 0;
+                for (Object child : children) {
+                    live += ((Node) child).live;
+                }
+                parents.add(new Node(children, live));
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new TaskVector(level.get(0), shift, count, count);
+    }
+
+    private Object[] leafFor(int slot) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.children[(slot >>> level) & MASK];
+        }
+        return node.children;
+    }
+
+    /**
+     * @return A copy of the node with the slot below it set, creating nodes on the way down as needed.
+     */
+    private static Node set(Node node, int level, int slot, Task task) {
+        int child = (slot >>> level) & MASK;
+        Object[] children = node.children.length > child
+                ? node.children.clone()
+                : Arrays.copyOf(node.children, child + 1);
+        int live = node.live;
+        if (level == 0) {
+            live += (task == null ? 0 : 1) - (children[child] == null ? 0 : 1);
+            children[child] = task;
+        } else {
+            Node oldChild = (Node) children[child];
+            Node newChild = set(oldChild == null ? new Node(new Object[0], 0) : oldChild, level - BITS, slot, task);
+            live += newChild.live - (oldChild == null ? 0 : oldChild.live);
+            children[child] = newChild;
+        }
+        return new Node(children, live);
+    }
+
+    private static final class Node {
+        private final Object[] children;
+        private final int live;
+
+        private Node(Object[] children, int live) {
+            this.children = children;
+            this.live = live;
+        }
+    }
+
+    private class ListView extends AbstractList<Task> implements RandomAccess {
+        @Override
+        public Task get(int index) {
+            return getSlot(slotAt(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return TaskVector.this.iterator();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package URBOI_PACKIN.Storage;
+
+import URBOI_PACKIN.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The original pipe-delimited format, one task per line (e.g. "#3 | D | 0 | desc | 2023-10-23T23:42:41.212928").
+ * The leading task id is optional, so files written before tasks had ids still load.
+ */
+public class TextTaskFormat implements TaskFormat {
+    static final char ID_PREFIX = '#';
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public List<String> read(String filePath, ArrayList<Task> tasks) throws IOException {
+        return MappedTaskParser.load(filePath, tasks);
+    }
+
+    @Override
+    public void write(List<Task> tasks, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        for (Task task : tasks) {
+            put(channel, buffer, toLine(task).getBytes(StandardCharsets.UTF_8));
+            put(channel, buffer, LINE_SEPARATOR);
+        }
+        drain(channel, buffer);
+    }
+
+    /**
+     * @return The task's line, starting with its id if it has one.
+     */
+    static String toLine(Task task) {
+        if (task.getId() == 0) {
+            return task.toFileString();
+        }
+        return ID_PREFIX + String.valueOf(task.getId()) + " | " + task.toFileString();
+    }
+
+    private static void put(WritableByteChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            drain(channel, buffer);
+            if (bytes.length > buffer.capacity()) {
+                ByteBuffer large = ByteBuffer.wrap(bytes);
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    private static void drain(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
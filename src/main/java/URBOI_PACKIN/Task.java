@@ -3,13 +3,15 @@ package URBOI_PACKIN;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
-public class Task {
+public class Task implements Cloneable {
 
     protected String description;
     protected boolean isDone;
 
     protected LocalDateTime date;
 
+    private int id;
+
     public String toFileString() {
         return "";
     }
@@ -29,6 +31,25 @@ public class Task {
     public String getDescription() {
         return description;
     }
+    /**
+     * Get the date of the task, if it has one.
+     *
+     * @return The date, or null for tasks without one.
+     */
+    public LocalDateTime getDate() {
+        return date;
+    }
+    /**
+     * Get the id the task list gave this task. Ids only ever go up, so they follow list order.
+     *
+     * @return The id, or 0 if the task is not in a list yet.
+     */
+    public int getId() {
+        return id;
+    }
+    public void setId(int id) {
+        this.id = id;
+    }
     public boolean isDone() {
         return isDone;
     }
@@ -38,8 +59,34 @@ public class Task {
     public void markNotDone() {
         isDone = false;
     }
+    /**
+     * Get a copy of the task that is done or not done. A task list never changes a task once other
+     * threads can see it, and swaps in a copy instead.
+     *
+     * @param isDone Whether the copy is done.
+     * @return The copy, with the same id.
+     */
+    public Task withDone(boolean isDone) {
+        try {
+            Task copy = (Task) clone();
+            copy.isDone = isDone;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+    /**
+     * Writes how the task is shown to the user, the same text as toString(), without building extra strings.
+     *
+     * @param sb The builder to append to.
+     */
+    public void appendTo(StringBuilder sb) {
+        sb.append('[').append(isDone ? 'X' : ' ').append("] ").append(description);
+    }
     @Override
     public String toString() {
-        return "[" + (isDone ? "X" : " ") + "] " + description;
+        StringBuilder sb = new StringBuilder(description.length() + 32);
+        appendTo(sb);
+        return sb.toString();
     }
 }
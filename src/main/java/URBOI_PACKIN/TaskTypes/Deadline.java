@@ -19,7 +19,9 @@ public class Deadline extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + date + ")";
+    public void appendTo(StringBuilder sb) {
+        sb.append("[D]");
+        super.appendTo(sb);
+        sb.append(" (by: ").append(date).append(')');
     }
 }
@@ -1,18 +1,25 @@
 package URBOI_PACKIN.TaskTypes;
 
+import URBOI_PACKIN.DateParser;
 import URBOI_PACKIN.Task;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents an Event task.
+ * The start and end are kept as typed; if they are dates we understand they are also parsed,
+ * and the start becomes the task's date.
  */
 public class Event extends Task {
     protected String from;
     protected String to;
+    protected LocalDateTime toDate;
 
     public Event(String description, String from, String to) {
-        super(description, null);
+        super(description, DateParser.parse(from));
         this.from = from;
         this.to = to;
+        this.toDate = DateParser.parse(to);
     }
 
     @Override
@@ -21,8 +28,10 @@ public class Event extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[E]" + super.toString() + " (from: " + from + " to: " + to + ")";
+    public void appendTo(StringBuilder sb) {
+        sb.append("[E]");
+        super.appendTo(sb);
+        sb.append(" (from: ").append(from).append(" to: ").append(to).append(')');
     }
 
     public String getFrom() {
@@ -32,4 +41,18 @@ public class Event extends Task {
     public String getTo() {
         return to;
     }
+
+    /**
+     * @return The parsed start, or null if it is not a date.
+     */
+    public LocalDateTime getFromDate() {
+        return date;
+    }
+
+    /**
+     * @return The parsed end, or null if it is not a date.
+     */
+    public LocalDateTime getToDate() {
+        return toDate;
+    }
 }
@@ -16,7 +16,8 @@ public class Todo extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    public void appendTo(StringBuilder sb) {
+        sb.append("[T]");
+        super.appendTo(sb);
     }
 }
@@ -0,0 +1,31 @@
+package URBOI_PACKIN.UI;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * A row of the chat transcript. The ListView only creates enough of these to fill the window and reuses
+ * them while scrolling, so each one loads its DialogBox once and just swaps the text and picture after.
+ */
+public class ChatCell extends ListCell<ChatMessage> {
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image dukeImage;
+
+    public ChatCell(Image userImage, Image dukeImage) {
+        this.userImage = userImage;
+        this.dukeImage = dukeImage;
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean empty) {
+        super.updateItem(message, empty);
+        setText(null);
+        if (empty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        dialogBox.show(message.getText(), message.isUser() ? userImage : dukeImage, message.isUser());
+        setGraphic(dialogBox);
+    }
+}
@@ -0,0 +1,31 @@
+package URBOI_PACKIN.UI;
+
+/**
+ * One line of the chat transcript: the text and who said it.
+ * The transcript keeps these instead of nodes, so only the visible rows ever have a DialogBox.
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isUser;
+
+    private ChatMessage(String text, boolean isUser) {
+        this.text = text;
+        this.isUser = isUser;
+    }
+
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(text, true);
+    }
+
+    public static ChatMessage fromDuke(String text) {
+        return new ChatMessage(text, false);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isUser() {
+        return isUser;
+    }
+}
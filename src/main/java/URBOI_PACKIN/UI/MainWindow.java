@@ -1,39 +1,56 @@
 package URBOI_PACKIN.UI;
 
 import URBOI_PACKIN.ResponseController;
-import URBOI_PACKIN.UI.DialogBox;
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
  */
 public class MainWindow extends AnchorPane {
+    // How many messages the transcript keeps, set with -Durboi.history=N. Older ones are dropped.
+    private static final int HISTORY_LIMIT = Integer.getInteger("urboi.history", 2000);
+    // How long closing the window waits for the commands still running and the last save
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
 
-    private ResponseController responseController;
+    private CompletableFuture<ResponseController> responseController;
+
+    // Commands run one at a time, in the order they were typed, away from the FX thread
+    private final ExecutorService commandRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "command-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only read and written on the command runner
+    private boolean isByeRun = false;
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/crying.png"));
-    private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/screaming.png"));
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setFocusTraversable(false);
 
         String greetingMessage =
                 "Wazzup! It's\n"
@@ -45,35 +62,98 @@ public class MainWindow extends AnchorPane {
                 + "##__________##__##________##_____##________##__##_________##____##____\n"
                 + "__#######______##__________##___########______#######_____#####_\n"
                 + "What can I do for you mah man?";
-        dialogContainer.getChildren().addAll(DialogBox.getDukeDialog(greetingMessage, dukeImage));
+        append(ChatMessage.fromDuke(greetingMessage));
+    }
+    /**
+     * Sets the pictures shown next to the user's and URBOI's messages. Call before the window is shown.
+     */
+    public void setImages(Image userImage, Image dukeImage) {
+        dialogList.setCellFactory(list -> new ChatCell(userImage, dukeImage));
     }
-    public void setDuke(ResponseController d) {
+
+    /**
+     * @param d The controller, which may still be loading its tasks. Commands wait for it.
+     */
+    public void setDuke(CompletableFuture<ResponseController> d) {
         responseController = d;
+        d.thenAccept(controller -> controller.addReminderListener(
+                text -> Platform.runLater(() -> append(ChatMessage.fromDuke(text)))));
     }
 
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing URBOI_PACKIN.ResponseController's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Echoes the user input in a dialog box right away and queues the command. The command runs on a
+     * background thread, so slow storage never freezes the window, and URBOI_PACKIN.ResponseController's reply
+     * is appended back on the FX thread. Clears the user input straight away so the next command can be typed.
      */
     @FXML
     private void handleUserInput() {
+        if (commandRunner.isShutdown()) {
+            return;
+        }
         String input = userInput.getText();
-        String response = responseController.getResponse(input);
-        if (input.equalsIgnoreCase("bye")) {
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getDukeDialog(response, dukeImage)
-            );
+        userInput.clear();
+        append(ChatMessage.fromUser(input));
+        commandRunner.execute(() -> {
+            String response = responseController.join().getResponse(input);
+            isByeRun |= isBye(input);
+            Platform.runLater(() -> showResponse(input, response));
+        });
+    }
+
+    /**
+     * Lets the commands already typed finish, then saves the changes still waiting unless "bye" has done
+     * that already. The save runs after those commands on the command runner, so none of their changes
+     * are left behind when the app exits. Waits at most CLOSE_TIMEOUT_SECONDS, so a stuck save cannot
+     * keep the app open.
+     */
+    public void close() {
+        if (responseController == null || commandRunner.isShutdown()) {
+            // Only "bye" shuts the runner down, and it saved everything
+            return;
+        }
+        Future<?> saved = commandRunner.submit(() -> {
+            if (!isByeRun) {
+                responseController.join().getSaver().flush();
+            }
+            return null;
+        });
+        commandRunner.shutdown();
+        try {
+            saved.get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            System.out.println("Error saving tasks before closing: " + cause);
+        }
+    }
+
+    private void showResponse(String input, String response) {
+        append(ChatMessage.fromDuke(response));
+        if (isBye(input)) {
+            commandRunner.shutdown();
             PauseTransition delay = new PauseTransition(Duration.seconds(2));
             delay.setOnFinished(event -> Platform.exit());
             delay.play();
-        } else {
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getDukeDialog(response, dukeImage)
-            );
         }
-        userInput.clear();
+    }
+
+    private static boolean isBye(String input) {
+        return input.trim().equalsIgnoreCase("bye");
+    }
+
+    /**
+     * Adds a message to the end of the transcript, drops the oldest ones past the history limit
+     * and scrolls to the new message.
+     */
+    private void append(ChatMessage message) {
+        ObservableList<ChatMessage> transcript = dialogList.getItems();
+        transcript.add(message);
+        int excess = transcript.size() - HISTORY_LIMIT;
+        if (excess > 0) {
+            transcript.remove(0, excess);
+        }
+        dialogList.scrollTo(transcript.size() - 1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package Commands;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Commands.CommandInput;
+import URBOI_PACKIN.Commands.CommandParseException;
+import URBOI_PACKIN.Commands.DeadlineCommand;
+import URBOI_PACKIN.Commands.EventCommand;
+import URBOI_PACKIN.Commands.MarkCommand;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandInputTest {
+
+    @Test
+    public void testParseSplitsVerbOnce() {
+        CommandInput input = CommandInput.parse("  DEADLINE  return book /by 2/12/2019 1800 ");
+        assertEquals("deadline", input.getVerb());
+        assertEquals("return book /by 2/12/2019 1800", input.getArguments());
+    }
+
+    @Test
+    public void testSplitAtFlags() throws CommandParseException {
+        CommandInput input = CommandInput.parse("event project/meeting /from Mon 2pm /to 4pm");
+        // "project/meeting" is not the /from flag because the flag has to be a word of its own
+        assertArrayEquals(new String[] {"project/meeting", "Mon 2pm", "4pm"},
+                input.split(new EventCommand(), "/from", "/to"));
+    }
+
+    @Test
+    public void testMissingFlagIsReportedWithUsage() {
+        CommandInput input = CommandInput.parse("deadline return book");
+        CommandParseException e = assertThrows(CommandParseException.class,
+                () -> input.split(new DeadlineCommand(), "/by"));
+        assertEquals("deadline", e.getVerb());
+        assertEquals(new DeadlineCommand().getUsage(), e.getUsage());
+    }
+
+    @Test
+    public void testBadIndexIsReportedInsteadOfThrown() {
+        CommandParseException e = assertThrows(CommandParseException.class,
+                () -> CommandInput.parse("mark two").requireIndex(new MarkCommand(true)));
+        assertTrue(e.getMessage().startsWith("'two' is not a task number."));
+        assertThrows(CommandParseException.class, () -> CommandInput.parse("mark").requireIndex(new MarkCommand(true)));
+    }
+
+    @Test
+    public void testTaskCanBeGivenByNumberOrId() throws CommandParseException {
+        new File("test_input_tasks.txt").delete();
+        TaskRepository tasks = new TaskRepository("test_input_tasks.txt");
+        tasks.add(new Todo("First"));
+        tasks.add(new Todo("Second"));
+        tasks.add(new Todo("Third"));
+        tasks.remove(0);
+
+        MarkCommand mark = new MarkCommand(true);
+        assertEquals("Third", CommandInput.parse("mark 2").requireTask(mark, tasks).getDescription());
+        assertEquals("Third", CommandInput.parse("mark #3").requireTask(mark, tasks).getDescription());
+        assertNull(CommandInput.parse("mark #1").requireTask(mark, tasks));
+        assertNull(CommandInput.parse("mark 3").requireTask(mark, tasks));
+        assertThrows(CommandParseException.class, () -> CommandInput.parse("mark #x").requireTask(mark, tasks));
+    }
+
+    @Test
+    public void testSelectionOfSeveralTasks() throws CommandParseException {
+        new File("test_input_tasks.txt").delete();
+        TaskRepository tasks = new TaskRepository("test_input_tasks.txt");
+        for (int i = 1; i <= 10; i++) {
+            tasks.add(new Todo("Task " + i));
+        }
+        tasks.markDone(4);
+
+        MarkCommand mark = new MarkCommand(true);
+        assertTrue(CommandInput.parse("mark 2-4, 9").isMultipleTasks());
+        assertEquals(4, CommandInput.parse("mark 2-4, 9").requireTasks(mark, tasks).size());
+        // Overlapping ranges and ids only pick each task once
+        assertEquals(3, CommandInput.parse("mark 1-3 2 #3").requireTasks(mark, tasks).size());
+        assertEquals("Task 5", CommandInput.parse("mark done").requireTasks(mark, tasks).get(0).getDescription());
+        assertEquals(9, CommandInput.parse("mark todo").requireTasks(mark, tasks).size());
+        assertThrows(CommandParseException.class, () -> CommandInput.parse("mark 5-11").requireTasks(mark, tasks));
+        assertThrows(CommandParseException.class, () -> CommandInput.parse("mark 1-x").requireTasks(mark, tasks));
+    }
+}
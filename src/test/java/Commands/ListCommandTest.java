@@ -0,0 +1,69 @@
+package Commands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Commands.CommandInput;
+import URBOI_PACKIN.Commands.CommandParseException;
+import URBOI_PACKIN.Commands.ListCommand;
+import URBOI_PACKIN.DukeException;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ListCommandTest {
+    private static final String TEST_FILE_PATH = "test_list_tasks.txt";
+
+    private TaskRepository tasks;
+
+    @BeforeEach
+    public void setUp() {
+        new File(TEST_FILE_PATH).delete();
+        tasks = new TaskRepository(TEST_FILE_PATH);
+        for (int i = 1; i <= 250; i++) {
+            tasks.add(new Todo("Task " + i));
+            if (i % 2 == 0) {
+                tasks.markDone(i - 1);
+            }
+        }
+    }
+
+    private String list(String command) throws DukeException {
+        return new ListCommand().execute(tasks, CommandInput.parse(command));
+    }
+
+    @Test
+    public void testListShowsFirstPageWithHint() throws DukeException {
+        String response = list("list");
+        assertTrue(response.startsWith("Here are the tasks in your list:\n1. [T][ ] Task 1 #1\n"));
+        assertTrue(response.contains("\n100. [T][X] Task 100 #100\n"));
+        assertTrue(response.endsWith("Showing 1-100 of 250. For more, type: list page 2"));
+    }
+
+    @Test
+    public void testLastPageHasNoHint() throws DukeException {
+        String response = list("list page 3");
+        assertTrue(response.startsWith("Here are the tasks in your list:\n201. [T][ ] Task 201 #201\n"));
+        assertTrue(response.endsWith("250. [T][X] Task 250 #250\n"));
+    }
+
+    @Test
+    public void testFiltersKeepListNumbers() throws DukeException {
+        assertEquals("Here are the done tasks in your list:\n2. [T][X] Task 2 #2\n4. [T][X] Task 4 #4\n"
+                + "Showing 1-2 of 125. For more, type: list done page 2 --limit 2", list("list done --limit 2"));
+        assertEquals("Here are the tasks not done yet in your list:\n11. [T][ ] Task 11 #11\n"
+                + "Showing 6-6 of 125. For more, type: list todo --offset 6 --limit 1",
+                list("list todo --offset 5 --limit 1"));
+    }
+
+    @Test
+    public void testBadOptionsAreReported() {
+        assertThrows(CommandParseException.class, () -> list("list page 0"));
+        assertThrows(CommandParseException.class, () -> list("list page"));
+        assertThrows(CommandParseException.class, () -> list("list page 2 --offset 5"));
+        assertThrows(CommandParseException.class, () -> list("list everything"));
+    }
+}
@@ -0,0 +1,77 @@
+package Index;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Index.DateIndex;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DateIndexTest {
+    private DateIndex index;
+    private Task essay;
+    private Task report;
+    private Task conference;
+    private Task lunch;
+
+    @BeforeEach
+    public void setUp() {
+        index = new DateIndex();
+        essay = addTask(1, new Deadline("Essay", LocalDateTime.parse("2023-10-20T23:59")));
+        report = addTask(2, new Deadline("Report", LocalDateTime.parse("2023-10-25T12:00")));
+        conference = addTask(3, new Event("Conference", "2023-10-18 0900", "2023-10-22 1700"));
+        lunch = addTask(4, new Event("Lunch", "2023-10-25 12:00", "2023-10-25 13:00"));
+        addTask(5, new Event("Party", "sometime", "later"));
+        addTask(6, new Todo("No date"));
+    }
+
+    private Task addTask(int id, Task task) {
+        task.setId(id);
+        index.add(task);
+        return task;
+    }
+
+    @Test
+    public void testBetweenFindsDeadlinesAndOverlappingEvents() {
+        // The conference started before the range but is still going on
+        assertEquals(List.of(conference, essay),
+                index.between(LocalDateTime.parse("2023-10-20T00:00"), LocalDateTime.parse("2023-10-21T00:00")));
+        assertEquals(List.of(report, lunch),
+                index.between(LocalDateTime.parse("2023-10-25T00:00"), LocalDateTime.parse("2023-10-25T23:59")));
+        assertEquals(List.of(),
+                index.between(LocalDateTime.parse("2023-10-23T00:00"), LocalDateTime.parse("2023-10-24T00:00")));
+    }
+
+    @Test
+    public void testOverdueSkipsDoneDeadlines() {
+        LocalDateTime now = LocalDateTime.parse("2023-10-26T00:00");
+        assertEquals(List.of(essay, report), index.overdue(now));
+
+        // Marking swaps in a done copy, as the repository does
+        index.remove(essay);
+        index.add(essay.withDone(true));
+        assertEquals(List.of(report), index.overdue(now));
+
+        index.remove(report);
+        assertEquals(List.of(), index.overdue(now));
+    }
+
+    @Test
+    public void testRemovingTheLongestEventShortensTheScan() {
+        assertEquals(Duration.between(conference.getDate(), LocalDateTime.parse("2023-10-22T17:00")),
+                index.getLongestEvent());
+        index.remove(conference);
+        assertEquals(Duration.ofHours(1), index.getLongestEvent());
+        assertEquals(List.of(report, lunch),
+                index.between(LocalDateTime.parse("2023-10-25T00:00"), LocalDateTime.parse("2023-10-25T23:59")));
+        index.remove(lunch);
+        index.remove(lunch);
+        assertEquals(Duration.ZERO, index.getLongestEvent());
+    }
+}
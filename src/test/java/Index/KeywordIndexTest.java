@@ -0,0 +1,60 @@
+package Index;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Index.KeywordIndex;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeywordIndexTest {
+    private KeywordIndex index;
+    private Task readBook;
+    private Task returnBooks;
+    private Task buyMilk;
+
+    @BeforeEach
+    public void setUp() {
+        index = new KeywordIndex();
+        readBook = addTask(1, "Read book");
+        returnBooks = addTask(2, "Return books to the library");
+        buyMilk = addTask(3, "Buy milk, then read the paper");
+    }
+
+    private Task addTask(int id, String description) {
+        Task task = new Todo(description);
+        task.setId(id);
+        index.add(task);
+        return task;
+    }
+
+    @Test
+    public void testPrefixMatchIgnoresCase() {
+        assertEquals(List.of(readBook, returnBooks), index.find(List.of("BOOK")));
+    }
+
+    @Test
+    public void testAllKeywordsMustMatch() {
+        assertEquals(List.of(readBook, buyMilk), index.find(List.of("read")));
+        assertEquals(List.of(buyMilk), index.find(List.of("read", "milk")));
+        assertTrue(index.find(List.of("read", "library")).isEmpty());
+    }
+
+    @Test
+    public void testRemovedTasksAreNotFound() {
+        index.remove(readBook);
+        assertEquals(List.of(returnBooks), index.find(List.of("book")));
+        assertTrue(index.find(List.of("nothing")).isEmpty());
+    }
+
+    @Test
+    public void testRemoveAllDropsEveryWordOfEachTask() {
+        index.removeAll(List.of(buyMilk, readBook));
+        assertEquals(List.of(returnBooks), index.find(List.of("book")));
+        assertTrue(index.find(List.of("read")).isEmpty());
+        assertTrue(index.find(List.of("milk")).isEmpty());
+    }
+}
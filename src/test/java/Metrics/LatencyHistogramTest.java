@@ -0,0 +1,62 @@
+package Metrics;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Metrics.LatencyHistogram;
+import URBOI_PACKIN.Metrics.Metrics;
+import URBOI_PACKIN.ResponseController;
+import URBOI_PACKIN.Storage.TaskRepository;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesAreWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(1_000_000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            long expected = (long) (percentile * 10_000);
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected && actual <= expected * 1.032,
+                    "p" + percentile + " was " + actual + ", expected about " + expected);
+        }
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testSmallAndHugeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        histogram.record(-5);
+        histogram.record(7);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtPercentile(1));
+        assertEquals(7, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testStatsShowEachCommand() {
+        new File("test_stats_tasks.txt").delete();
+        ResponseController controller = new ResponseController(new TaskRepository("test_stats_tasks.txt"));
+        controller.setAutoSave(false);
+        Metrics.reset();
+        controller.getResponse("todo read book");
+        controller.getResponse("list");
+        controller.getResponse("list");
+        controller.getResponse("blah");
+
+        String stats = controller.getResponse("stats");
+        assertTrue(stats.contains("command list: 2 runs, p50 "), stats);
+        assertTrue(stats.contains("command todo: 1 runs"), stats);
+        assertTrue(stats.contains("command ?: 1 runs"), stats);
+        assertTrue(stats.contains("failed commands: 1"), stats);
+        assertEquals("OK, I've cleared the stats.", controller.getResponse("stats reset"));
+    }
+}
@@ -0,0 +1,116 @@
+package Reminders;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Reminders.ReminderScheduler;
+import URBOI_PACKIN.Reminders.TimerWheel;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimerWheelTest {
+
+    private static final String TEST_FILE_PATH = "test_reminder_tasks.txt";
+
+    @Test
+    public void testItemsComeOutInOrderAtTheirTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 0);
+        wheel.schedule(5_000, "b");
+        wheel.schedule(2_500, "a");
+        wheel.schedule(300_000, "c");
+        wheel.schedule(-1, "now");
+
+        assertEquals(List.of("now"), wheel.advanceTo(1_000));
+        assertEquals(List.of("a"), wheel.advanceTo(4_999));
+        assertEquals(List.of("b"), wheel.advanceTo(5_000));
+        assertEquals(List.of(), wheel.advanceTo(299_999));
+        assertEquals(List.of("c"), wheel.advanceTo(300_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCascadesFromEveryLevel() {
+        TimerWheel<Long> wheel = new TimerWheel<>(1, 0);
+        long[] ticks = {255, 256, 257, 65_535, 65_536, 65_537, 16_777_216, 16_777_217};
+        for (long tick : ticks) {
+            wheel.schedule(tick, tick);
+        }
+        List<Long> due = new ArrayList<>();
+        for (long now = 0; now <= 16_777_300; now += 100_000) {
+            due.addAll(wheel.advanceTo(Math.min(now, 16_777_300)));
+        }
+        due.addAll(wheel.advanceTo(16_777_300));
+        List<Long> expected = new ArrayList<>();
+        for (long tick : ticks) {
+            expected.add(tick);
+        }
+        assertEquals(expected, due);
+    }
+
+    @Test
+    public void testMillionScheduledHalfCancelled() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(1000, 0);
+        List<TimerWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            timeouts.add(wheel.schedule(1000L * (1 + i % 100_000), i));
+        }
+        for (int i = 0; i < 1_000_000; i += 2) {
+            assertTrue(wheel.cancel(timeouts.get(i)));
+        }
+        assertFalse(wheel.cancel(timeouts.get(0)));
+        assertEquals(500_000, wheel.size());
+
+        List<Integer> due = wheel.advanceTo(100_000L * 1000);
+        assertEquals(500_000, due.size());
+        for (int item : due) {
+            assertEquals(1, item % 2);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testSchedulerFollowsTheRepository() {
+        new File(TEST_FILE_PATH).delete();
+        AtomicLong clock = new AtomicLong(millis(LocalDateTime.of(2030, 1, 1, 9, 0)));
+        List<String> sent = new ArrayList<>();
+        ReminderScheduler scheduler = new ReminderScheduler(60 * 60_000, sent::add, clock::get);
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        repository.addListener(scheduler);
+
+        repository.add(new Todo("No date"));
+        repository.add(new Deadline("Report", LocalDateTime.of(2030, 1, 1, 12, 0)));
+        repository.add(new Deadline("Gone", LocalDateTime.of(2030, 1, 1, 12, 0)));
+        repository.add(new Deadline("Done", LocalDateTime.of(2030, 1, 1, 12, 0)));
+        repository.add(new Deadline("Past", LocalDateTime.of(2029, 12, 31, 12, 0)));
+        repository.removeById(3);
+        repository.markDoneById(4);
+        assertEquals(1, scheduler.size());
+
+        clock.set(millis(LocalDateTime.of(2030, 1, 1, 10, 59)));
+        assertEquals(0, scheduler.sendDue());
+        clock.set(millis(LocalDateTime.of(2030, 1, 1, 11, 0)));
+        assertEquals(1, scheduler.sendDue());
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).contains("Report"));
+
+        // Unmarking a task that is due soon reminds of it straight away
+        repository.markNotDoneById(4);
+        clock.addAndGet(1000);
+        assertEquals(1, scheduler.sendDue());
+        assertTrue(sent.get(1).contains("Done"));
+        new File(TEST_FILE_PATH).delete();
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
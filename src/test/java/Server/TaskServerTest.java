@@ -0,0 +1,163 @@
+package Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Server.TaskServer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskServerTest {
+    private static final String TEST_DIRECTORY = "test_server_data";
+
+    private TaskServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        File directory = new File(TEST_DIRECTORY);
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                File[] inner = file.listFiles();
+                if (inner != null) {
+                    for (File innerFile : inner) {
+                        innerFile.delete();
+                    }
+                }
+                file.delete();
+            }
+        }
+        server = new TaskServer(0, TEST_DIRECTORY);
+        new Thread(server::serve).start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * A client that sends one command at a time and reads the response up to the "." line.
+     */
+    private class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            readResponse();
+        }
+
+        String send(String command) throws IOException {
+            out.println(command);
+            return readResponse();
+        }
+
+        private String readResponse() throws IOException {
+            StringBuilder response = new StringBuilder();
+            String line;
+            while (!(line = in.readLine()).equals(".")) {
+                response.append(line.startsWith(".") ? line.substring(1) : line).append('\n');
+            }
+            return response.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testImportAndExportStayInTheUsersFolder() throws IOException {
+        try (Client client = new Client()) {
+            client.send("user alice");
+            client.send("todo read book");
+            assertTrue(client.send("export mine.csv").contains("exported 1 task"));
+            assertTrue(new File(TEST_DIRECTORY, "alice.files/mine.csv").isFile());
+            String outside = new File("test_server_outside.csv").getAbsolutePath();
+            assertTrue(client.send("export " + outside).contains("your own folder"));
+            assertTrue(client.send("export ../alice.csv").contains("your own folder"));
+            assertTrue(!new File(outside).exists());
+
+            client.send("user bob");
+            assertTrue(client.send("import ../alice.files/mine.csv").contains("your own folder"));
+            assertTrue(client.send("import mine.csv").contains("couldn't find"));
+        }
+    }
+
+    @Test
+    public void testUsersHaveSeparateTaskLists() throws IOException {
+        try (Client alice = new Client(); Client bob = new Client()) {
+            alice.send("user alice");
+            bob.send("user bob");
+            alice.send("todo read book");
+
+            assertTrue(alice.send("list").contains("read book"));
+            assertTrue(!bob.send("list").contains("read book"));
+            assertTrue(bob.send("user ../../etc").startsWith("☹ OOPS!!!"));
+        }
+        assertTrue(new File(TEST_DIRECTORY, "alice.txt.journal").exists());
+    }
+
+    @Test
+    public void testUserNamesIgnoreCase() throws IOException {
+        try (Client upper = new Client(); Client lower = new Client()) {
+            assertTrue(upper.send("user Alice").contains("'alice'"));
+            lower.send("user alice");
+            upper.send("todo read book");
+
+            assertTrue(lower.send("list").contains("read book"));
+        }
+        assertTrue(new File(TEST_DIRECTORY, "alice.txt.journal").exists());
+    }
+
+    @Test
+    public void testConcurrentClientsLoseNoChanges() throws Exception {
+        int clients = 8;
+        int tasksPerClient = 50;
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int clientNumber = c;
+            Thread thread = new Thread(() -> {
+                try (Client client = new Client()) {
+                    client.send("user team");
+                    for (int i = 0; i < tasksPerClient; i++) {
+                        client.send("todo client " + clientNumber + " task " + i);
+                        client.send("find client");
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), errors);
+        try (Client client = new Client()) {
+            client.send("user team");
+            assertTrue(client.send("list").contains("Showing 1-100 of " + clients * tasksPerClient + "."));
+        }
+    }
+}
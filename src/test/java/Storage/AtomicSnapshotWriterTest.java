@@ -0,0 +1,59 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Storage.AtomicSnapshotWriter;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AtomicSnapshotWriterTest {
+
+    private static final String TEST_FILE_PATH = "test_snapshot_tasks.txt";
+
+    @BeforeEach
+    public void setUp() {
+        // Remove the target, its backups and any leftover temp file
+        for (String suffix : new String[] {"", ".1", ".2", ".3", AtomicSnapshotWriter.TEMP_SUFFIX + "/blocker",
+                AtomicSnapshotWriter.TEMP_SUFFIX}) {
+            new File(TEST_FILE_PATH + suffix).delete();
+        }
+    }
+
+    @Test
+    public void testWriteKeepsRotatedBackups() throws IOException {
+        AtomicSnapshotWriter writer = new AtomicSnapshotWriter(TEST_FILE_PATH, true, 2);
+        writer.write(List.of(new Todo("First")));
+        writer.write(List.of(new Todo("Second")));
+        writer.write(List.of(new Todo("Third")));
+
+        assertEquals(List.of("T | 0 | Third"), Files.readAllLines(Path.of(TEST_FILE_PATH)));
+        assertEquals(List.of("T | 0 | Second"), Files.readAllLines(Path.of(TEST_FILE_PATH + ".1")));
+        assertEquals(List.of("T | 0 | First"), Files.readAllLines(Path.of(TEST_FILE_PATH + ".2")));
+        assertFalse(new File(TEST_FILE_PATH + ".3").exists());
+        assertFalse(new File(TEST_FILE_PATH + AtomicSnapshotWriter.TEMP_SUFFIX).exists());
+    }
+
+    @Test
+    public void testFailedWriteLeavesOldFileUntouched() throws IOException {
+        AtomicSnapshotWriter writer = new AtomicSnapshotWriter(TEST_FILE_PATH, false, 0);
+        writer.write(List.of(new Todo("Keep Me")));
+
+        // A directory where the temp file should go makes the next write fail
+        File blocker = new File(TEST_FILE_PATH + AtomicSnapshotWriter.TEMP_SUFFIX + "/blocker");
+        blocker.getParentFile().mkdirs();
+        blocker.createNewFile();
+        List<Task> tasks = List.of(new Todo("Lost"));
+        assertThrows(IOException.class, () -> writer.write(tasks));
+
+        assertEquals(List.of("T | 0 | Keep Me"), Files.readAllLines(Path.of(TEST_FILE_PATH)));
+    }
+}
@@ -0,0 +1,113 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Storage.AtomicSnapshotWriter;
+import URBOI_PACKIN.Storage.BinaryTaskFormat;
+import URBOI_PACKIN.Storage.TaskFormatConverter;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryTaskFormatTest {
+
+    private static final String TEXT_FILE_PATH = "test_format_tasks.txt";
+    private static final String BINARY_FILE_PATH = "test_format_tasks.bin";
+
+    @BeforeEach
+    public void setUp() {
+        new File(TEXT_FILE_PATH).delete();
+        new File(BINARY_FILE_PATH).delete();
+    }
+
+    private static List<Task> sampleTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Test Todo Task"));
+        tasks.add(new Deadline("Test Deadline Task", LocalDateTime.parse("2023-10-23T23:42:41.212928")));
+        tasks.add(new Deadline("Whole Minute", LocalDateTime.parse("2023-10-23T14:30")));
+        tasks.add(new Event("Test Event Task", "2023-10-23 10:00", "2023-10-23 12:00"));
+        tasks.add(new Todo("Café 你好 " + "x".repeat(300)));
+        tasks.get(1).markDone();
+        return tasks;
+    }
+
+    @Test
+    public void testSaveAndLoadBinary() throws IOException {
+        List<Task> tasksToSave = sampleTasks();
+        new AtomicSnapshotWriter(BINARY_FILE_PATH, false, 0).write(tasksToSave);
+
+        ArrayList<Task> loadedTasks = new ArrayList<>();
+        assertTrue(new BinaryTaskFormat().read(BINARY_FILE_PATH, loadedTasks).isEmpty());
+
+        assertEquals(tasksToSave.size(), loadedTasks.size());
+        for (int i = 0; i < tasksToSave.size(); i++) {
+            assertEquals(tasksToSave.get(i).toFileString(), loadedTasks.get(i).toFileString());
+        }
+    }
+
+    @Test
+    public void testConvertTextToBinaryAndBack() throws IOException {
+        List<Task> tasksToSave = sampleTasks();
+        new AtomicSnapshotWriter(TEXT_FILE_PATH, false, 0).write(tasksToSave);
+        List<String> originalLines = Files.readAllLines(Path.of(TEXT_FILE_PATH));
+
+        assertEquals(tasksToSave.size(), TaskFormatConverter.convert(TEXT_FILE_PATH, BINARY_FILE_PATH));
+        assertTrue(new File(BINARY_FILE_PATH).length() < new File(TEXT_FILE_PATH).length());
+
+        new File(TEXT_FILE_PATH).delete();
+        TaskFormatConverter.convert(BINARY_FILE_PATH, TEXT_FILE_PATH);
+        assertEquals(originalLines, Files.readAllLines(Path.of(TEXT_FILE_PATH)));
+    }
+
+    @Test
+    public void testTruncatedFileIsRejected() throws IOException {
+        new AtomicSnapshotWriter(BINARY_FILE_PATH, false, 0).write(sampleTasks());
+        byte[] bytes = Files.readAllBytes(Path.of(BINARY_FILE_PATH));
+        Files.write(Path.of(BINARY_FILE_PATH), java.util.Arrays.copyOf(bytes, bytes.length - 5));
+
+        assertThrows(IOException.class, () -> new BinaryTaskFormat().read(BINARY_FILE_PATH, new ArrayList<>()));
+    }
+
+    @Test
+    public void testHugeTaskCountIsRejectedBeforeReading() throws IOException {
+        java.nio.ByteBuffer header = java.nio.ByteBuffer.allocate(12);
+        header.putInt(0x55524254).put((byte) 2).putInt(Integer.MAX_VALUE).put(new byte[3]);
+        Files.write(Path.of(BINARY_FILE_PATH), header.array());
+
+        assertThrows(IOException.class, () -> new BinaryTaskFormat().read(BINARY_FILE_PATH, new ArrayList<>()));
+    }
+
+    @Test
+    public void testCutShortFileIsNotSavedOver() throws IOException {
+        new AtomicSnapshotWriter(BINARY_FILE_PATH, false, 0).write(sampleTasks());
+        byte[] bytes = Files.readAllBytes(Path.of(BINARY_FILE_PATH));
+        byte[] cutShort = java.util.Arrays.copyOf(bytes, bytes.length - 5);
+        Files.write(Path.of(BINARY_FILE_PATH), cutShort);
+
+        TaskRepository repository = new TaskRepository(BINARY_FILE_PATH);
+        assertEquals(0, repository.size());
+        repository.add(new Todo("Added after the failed load"));
+        assertThrows(IOException.class, repository::save);
+        assertThrows(IOException.class, repository::compact);
+        assertTrue(java.util.Arrays.equals(cutShort, Files.readAllBytes(Path.of(BINARY_FILE_PATH))));
+
+        // Once the file can be read again it is loaded and saved as usual
+        Files.write(Path.of(BINARY_FILE_PATH), bytes);
+        repository.load();
+        assertEquals(sampleTasks().size(), repository.size());
+        repository.save();
+    }
+}
@@ -0,0 +1,91 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Storage.AtomicSnapshotWriter;
+import URBOI_PACKIN.Storage.CompactTaskStore;
+import URBOI_PACKIN.Storage.Storage;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactTaskStoreTest {
+
+    private static final String TEST_FILE_PATH = "test_compact_tasks.txt";
+    private static final String COPY_FILE_PATH = "test_compact_tasks_copy.txt";
+
+    @BeforeEach
+    public void setUp() {
+        new File(TEST_FILE_PATH).delete();
+        new File(COPY_FILE_PATH).delete();
+    }
+
+    private static ArrayList<Task> sampleTasks() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read book"));
+        tasks.add(new Deadline("Return book", LocalDateTime.parse("2023-10-23T14:30:15.5")));
+        tasks.add(new Event("Café meetup ☕", "23/10/2023 1400", "Monday 4pm"));
+        tasks.add(new Todo("Water plants"));
+        tasks.get(1).markDone();
+        tasks.get(2).markDone();
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(i * 2 + 1);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testLoadedTasksMatchTheFile() throws IOException {
+        ArrayList<Task> expected = sampleTasks();
+        Storage.saveTasksToFile(expected, TEST_FILE_PATH);
+
+        CompactTaskStore store = new CompactTaskStore();
+        assertTrue(CompactTaskStore.load(TEST_FILE_PATH, store).isEmpty());
+        assertEquals(expected.size(), store.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toFileString(), store.get(i).toFileString());
+            assertEquals(expected.get(i).getId(), store.getId(i));
+            assertEquals(expected.get(i).getDate(), store.getDate(i));
+        }
+
+        // Writing the views gives back the same file
+        new AtomicSnapshotWriter(COPY_FILE_PATH, false, 0).write(store.asList());
+        assertEquals(Files.readString(Paths.get(TEST_FILE_PATH)), Files.readString(Paths.get(COPY_FILE_PATH)));
+    }
+
+    @Test
+    public void testChangesAndRemovals() {
+        CompactTaskStore store = new CompactTaskStore();
+        for (Task task : sampleTasks()) {
+            store.add(task);
+        }
+        store.add(new Todo("Without an id"));
+        assertEquals(8, store.getId(4));
+
+        store.setDone(0, true);
+        store.remove(1);
+        assertEquals(4, store.size());
+        assertTrue(store.isDone(0));
+        assertEquals("Café meetup ☕", store.get(1).getDescription());
+        assertTrue(store.get(1).isDone());
+        assertFalse(store.get(2).isDone());
+        assertEquals("Water plants", store.get(2).getDescription());
+        assertEquals(-1, store.indexOfId(3));
+        assertEquals(2, store.indexOfId(7));
+
+        List<Task> view = store.asList();
+        assertEquals("Without an id", view.get(view.size() - 1).getDescription());
+    }
+}
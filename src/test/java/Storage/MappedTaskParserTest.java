@@ -0,0 +1,90 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Storage.MappedTaskParser;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedTaskParserTest {
+
+    private static final String TEST_FILE_PATH = "test_mapped_tasks.txt";
+
+    @BeforeEach
+    public void setUp() {
+        new File(TEST_FILE_PATH).delete();
+    }
+
+    @Test
+    public void testLoadEveryTaskType() throws IOException {
+        Files.writeString(Path.of(TEST_FILE_PATH), "T | 1 | Test Todo Task\r\n"
+                + "D | 0 | Test Deadline Task | 2023-10-23T23:42:41.212928\n"
+                + "D | 0 | Whole Minute | 2023-10-23T14:30\n"
+                + "E | 0 | Test Event Task | 2023-10-23 10:00 | 2023-10-23 12:00\n"
+                + "T | 0 | Café 你好", StandardCharsets.UTF_8);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        List<String> errors = MappedTaskParser.load(TEST_FILE_PATH, tasks);
+
+        assertTrue(errors.isEmpty());
+        assertEquals(5, tasks.size());
+        assertTrue(tasks.get(0) instanceof Todo);
+        assertTrue(tasks.get(0).isDone());
+        assertTrue(tasks.get(1) instanceof Deadline);
+        assertEquals(new Deadline("Test Deadline Task", LocalDateTime.parse("2023-10-23T23:42:41.212928")).toString(),
+                tasks.get(1).toString());
+        assertEquals("D | 0 | Whole Minute | 2023-10-23T14:30", tasks.get(2).toFileString());
+        assertTrue(tasks.get(3) instanceof Event);
+        assertEquals("2023-10-23 12:00", ((Event) tasks.get(3)).getTo());
+        assertEquals("Café 你好", tasks.get(4).getDescription());
+    }
+
+    @Test
+    public void testMalformedLinesAreReportedWithLineNumbers() throws IOException {
+        Files.writeString(Path.of(TEST_FILE_PATH), "T | 0 | Fine\n"
+                + "X | 0 | Unknown Type\n"
+                + "\n"
+                + "D | 0 | No Date\n"
+                + "D | 0 | Bad Date | yesterday\n"
+                + "T | 0\n"
+                + "T | 0 | Also Fine\n", StandardCharsets.UTF_8);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        List<String> errors = MappedTaskParser.load(TEST_FILE_PATH, tasks);
+
+        assertEquals(2, tasks.size());
+        assertEquals(4, errors.size());
+        assertTrue(errors.get(0).startsWith("Line 2:"));
+        assertTrue(errors.get(1).startsWith("Line 4:"));
+        assertTrue(errors.get(2).startsWith("Line 5:"));
+        assertTrue(errors.get(3).startsWith("Line 6:"));
+    }
+
+    @Test
+    public void testIdsTooBigForAnIntAreReported() throws IOException {
+        Files.writeString(Path.of(TEST_FILE_PATH), "#2147483647 | T | 0 | Largest Id\n"
+                + "#2147483648 | T | 0 | One Too Big\n"
+                + "#99999999999999999999 | T | 0 | Far Too Big\n", StandardCharsets.UTF_8);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        List<String> errors = MappedTaskParser.load(TEST_FILE_PATH, tasks);
+
+        assertEquals(1, tasks.size());
+        assertEquals(Integer.MAX_VALUE, tasks.get(0).getId());
+        assertEquals(List.of("Line 2: bad task id '#2147483648'", "Line 3: bad task id '#99999999999999999999'"),
+                errors);
+    }
+}
@@ -0,0 +1,74 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Storage.SaveScheduler;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SaveSchedulerTest {
+
+    private static final String TEST_FILE_PATH = "test_saver_tasks.txt";
+
+    @BeforeEach
+    public void setUp() {
+        new File(TEST_FILE_PATH).delete();
+    }
+
+    @Test
+    public void testBurstOfChangesIsSavedTogether() throws Exception {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        SaveScheduler saver = new SaveScheduler(repository, 60_000, 100);
+        CompletableFuture<Void> saved = null;
+        for (int i = 0; i < 500; i++) {
+            repository.add(new Todo("Task " + i));
+            saved = saver.changed();
+        }
+        // Fewer than 100 changes may be left over, and those would wait out the delay
+        saver.saveSoon();
+        saved.get(5, TimeUnit.SECONDS);
+
+        // Every 100 changes start a save, and changes made while one runs join the next
+        assertTrue(saver.getSaveCount() >= 1 && saver.getSaveCount() <= 6);
+        assertEquals(500, new TaskRepository(TEST_FILE_PATH).size());
+    }
+
+    @Test
+    public void testChangesWaitForTheDelay() throws Exception {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        SaveScheduler saver = new SaveScheduler(repository, 300, 1000);
+        repository.add(new Todo("First"));
+        CompletableFuture<Void> saved = saver.changed();
+        repository.add(new Todo("Second"));
+        saver.changed();
+
+        assertFalse(new File(TEST_FILE_PATH).exists());
+        saved.get(5, TimeUnit.SECONDS);
+        assertEquals(1, saver.getSaveCount());
+        assertEquals(2, new TaskRepository(TEST_FILE_PATH).size());
+    }
+
+    @Test
+    public void testFlushSavesWaitingChangesAtOnce() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        SaveScheduler saver = new SaveScheduler(repository, 60_000, 1000);
+        repository.add(new Todo("First"));
+        CompletableFuture<Void> saved = saver.changed();
+
+        saver.flush();
+        assertTrue(saved.isDone());
+        assertEquals(1, new TaskRepository(TEST_FILE_PATH).size());
+
+        // Nothing is waiting, so there is nothing to write
+        saver.flush();
+        assertEquals(1, saver.getSaveCount());
+    }
+}
@@ -0,0 +1,161 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.ResponseController;
+import URBOI_PACKIN.Storage.TaskArchive;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskArchiveTest {
+
+    private static final String TEST_FILE_PATH = "test_archive_tasks.txt";
+    private static final String ARCHIVE_PATH = TEST_FILE_PATH + TaskRepository.ARCHIVE_SUFFIX;
+
+    @BeforeEach
+    public void setUp() {
+        new File(TEST_FILE_PATH).delete();
+        new File(ARCHIVE_PATH, "2024-04.txt/blocked").delete();
+        File[] segments = new File(ARCHIVE_PATH).listFiles();
+        if (segments != null) {
+            for (File segment : segments) {
+                segment.delete();
+            }
+        }
+        new File(ARCHIVE_PATH).delete();
+    }
+
+    private static List<Task> doneTasks(int firstId, int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int id = firstId; id < firstId + count; id++) {
+            Task task = new Todo("Old task " + id);
+            task.setId(id);
+            task.markDone();
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testSegmentsAreRolledAndReadOnlyWhenNeeded() throws IOException {
+        TaskArchive archive = new TaskArchive(ARCHIVE_PATH, 3, 1);
+        archive.add(doneTasks(1, 4), YearMonth.of(2024, 3));
+        archive.add(doneTasks(5, 1), YearMonth.of(2024, 3));
+        archive.add(doneTasks(6, 2), YearMonth.of(2024, 4));
+        assertEquals(3, archive.getSegmentCount());
+        assertTrue(new File(ARCHIVE_PATH, "2024-03-2.txt").exists());
+
+        TaskArchive reopened = new TaskArchive(ARCHIVE_PATH, 3, 1);
+        assertEquals(7, reopened.size());
+        assertEquals(7, reopened.getLastId());
+        assertEquals(0, reopened.getLoadedSegmentCount());
+
+        List<Task> tasks = reopened.asList();
+        assertEquals(6, tasks.get(5).getId());
+        assertEquals(1, reopened.getLoadedSegmentCount());
+        assertEquals(4, tasks.get(3).getId());
+        assertTrue(tasks.get(3).isDone());
+
+        List<Task> found = reopened.find(List.of("task", "5"));
+        assertEquals(1, found.size());
+        assertEquals(5, found.get(0).getId());
+        assertEquals(1, reopened.getLoadedSegmentCount());
+    }
+
+    @Test
+    public void testArchivedTasksLeaveTheListButKeepTheirIds() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        for (int i = 1; i <= 5; i++) {
+            repository.add(new Todo("Task " + i));
+        }
+        repository.markDoneById(2);
+        repository.markDoneById(5);
+        assertEquals(2, repository.archiveDone(YearMonth.of(2024, 3)));
+
+        TaskRepository reopened = new TaskRepository(TEST_FILE_PATH);
+        assertEquals(3, reopened.size());
+        assertEquals(2, reopened.getArchive().size());
+        reopened.add(new Todo("New task"));
+        assertEquals(6, reopened.getTasks().get(3).getId());
+
+        ResponseController controller = new ResponseController(reopened);
+        controller.setAutoSave(false);
+        String list = controller.getResponse("list all");
+        assertTrue(list.contains("4. [T][ ] New task #6"));
+        assertTrue(list.contains("- [T][X] Task 5 #5 (archived)"));
+        assertFalse(controller.getResponse("list").contains("archived"));
+        assertTrue(controller.getResponse("find --archive task 2").contains("Task 2"));
+        assertFalse(controller.getResponse("find task 2").contains("Task 2"));
+    }
+
+    @Test
+    public void testDeadlinesAndEventsComeBackFromTheColumns() throws IOException {
+        Task deadline = new Deadline("return book", LocalDateTime.of(2024, 3, 1, 14, 0, 30, 500));
+        deadline.setId(1);
+        deadline.markDone();
+        Task event = new Event("project meeting", "2024-03-04 1000", "noon");
+        event.setId(2);
+        event.markDone();
+        TaskArchive archive = new TaskArchive(ARCHIVE_PATH, 10, 1);
+        archive.add(List.of(deadline, event), YearMonth.of(2024, 3));
+
+        for (TaskArchive current : List.of(archive, new TaskArchive(ARCHIVE_PATH, 10, 1))) {
+            List<Task> tasks = current.asList();
+            assertEquals(deadline.toString(), tasks.get(0).toString());
+            assertEquals(deadline.getDate(), tasks.get(0).getDate());
+            assertEquals(event.toString(), tasks.get(1).toString());
+        }
+    }
+
+    @Test
+    public void testSegmentThatCannotBeReadIsNotWrittenOver() throws IOException {
+        File segment = new File(ARCHIVE_PATH, "2024-03.txt");
+        File movedAway = new File(ARCHIVE_PATH, "moved.txt");
+        new TaskArchive(ARCHIVE_PATH, 10, 1).add(doneTasks(1, 2), YearMonth.of(2024, 3));
+
+        TaskArchive archive = new TaskArchive(ARCHIVE_PATH, 10, 1);
+        // A folder in the segment's place cannot be read as one
+        Files.move(segment.toPath(), movedAway.toPath());
+        segment.mkdir();
+        assertThrows(IOException.class, () -> archive.add(doneTasks(3, 1), YearMonth.of(2024, 3)));
+        assertThrows(IOException.class, () -> archive.find(List.of("old")));
+
+        segment.delete();
+        Files.move(movedAway.toPath(), segment.toPath());
+        assertEquals(2, archive.size());
+        assertEquals("Old task 2", archive.asList().get(1).getDescription());
+        archive.add(doneTasks(3, 1), YearMonth.of(2024, 3));
+        assertEquals(3, new TaskArchive(ARCHIVE_PATH, 10, 1).find(List.of("old")).size());
+    }
+
+    @Test
+    public void testSegmentThatCouldNotBeWrittenIsLeftOutOfTheSummary() throws IOException {
+        TaskArchive archive = new TaskArchive(ARCHIVE_PATH, 10, 1);
+        archive.add(doneTasks(1, 1), YearMonth.of(2024, 3));
+        // A folder with something in it cannot be replaced by the new segment
+        new File(ARCHIVE_PATH, "2024-04.txt").mkdir();
+        new File(ARCHIVE_PATH, "2024-04.txt/blocked").createNewFile();
+        assertThrows(IOException.class, () -> archive.add(doneTasks(2, 1), YearMonth.of(2024, 4)));
+        archive.add(doneTasks(3, 1), YearMonth.of(2024, 5));
+
+        TaskArchive reopened = new TaskArchive(ARCHIVE_PATH, 10, 1);
+        assertEquals(2, reopened.getSegmentCount());
+        assertEquals(2, reopened.size());
+        assertEquals(3, reopened.getLastId());
+    }
+}
@@ -0,0 +1,161 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.ResponseController;
+import URBOI_PACKIN.Storage.AtomicSnapshotWriter;
+import URBOI_PACKIN.Storage.CsvTaskFormat;
+import URBOI_PACKIN.Storage.IcsTaskFormat;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Event;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskExchangeTest {
+
+    private static final String TEST_FILE_PATH = "test_exchange_tasks.txt";
+    private static final String CSV_PATH = "test_exchange.csv";
+    private static final String ICS_PATH = "test_exchange.ics";
+
+    @BeforeEach
+    public void setUp() {
+        for (String path : new String[] {TEST_FILE_PATH, CSV_PATH, ICS_PATH}) {
+            new File(path).delete();
+        }
+    }
+
+    private static List<Task> sampleTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book, then \"review\" it"));
+        Task deadline = new Deadline("return book", LocalDateTime.of(2024, 3, 1, 14, 0));
+        deadline.markDone();
+        tasks.add(deadline);
+        tasks.add(new Event("project meeting; weekly", "2024-03-04 1000", "2024-03-04 1200"));
+        tasks.add(new Event("holiday", "2024-03-10", "sometime after"));
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(i + 1);
+        }
+        return tasks;
+    }
+
+    private static List<String> toStrings(List<Task> tasks) {
+        List<String> strings = new ArrayList<>();
+        for (Task task : tasks) {
+            strings.add(task.toString());
+        }
+        return strings;
+    }
+
+    @Test
+    public void testCsvRoundTrip() throws IOException {
+        new AtomicSnapshotWriter(CSV_PATH, new CsvTaskFormat(), false, 0).write(sampleTasks());
+        ArrayList<Task> read = new ArrayList<>();
+        assertTrue(new CsvTaskFormat().read(CSV_PATH, read).isEmpty());
+        assertEquals(toStrings(sampleTasks()), toStrings(read));
+    }
+
+    @Test
+    public void testIcsRoundTrip() throws IOException {
+        List<Task> tasks = sampleTasks();
+        tasks.add(new Todo("a long description that goes well past seventy-five octets, with ünïcödé in it"));
+        new AtomicSnapshotWriter(ICS_PATH, new IcsTaskFormat(), false, 0).write(tasks);
+        for (String line : Files.readAllLines(Paths.get(ICS_PATH), StandardCharsets.UTF_8)) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        ArrayList<Task> read = new ArrayList<>();
+        assertTrue(new IcsTaskFormat().read(ICS_PATH, read).isEmpty());
+        assertEquals(toStrings(tasks), toStrings(read));
+    }
+
+    @Test
+    public void testCsvFromOtherAppsAndErrors() throws IOException {
+        Files.write(Paths.get(CSV_PATH), ("Title,Due,Status,Notes\r\n"
+                + "\"buy milk,\n eggs\",,yes,x\r\n"
+                + "pay rent,2024-04-01,,\r\n"
+                + "bad date,next week,,\r\n"
+                + ",,,\r\n"
+                + "a | b,,,\r\n").getBytes(StandardCharsets.UTF_8));
+        ArrayList<Task> read = new ArrayList<>();
+        List<String> errors = new CsvTaskFormat().read(CSV_PATH, read);
+        assertEquals(List.of("Line 5: 'next week' is not a date", "Line 6: the description is empty"), errors);
+        assertEquals(3, read.size());
+        assertEquals("[T][X] buy milk, eggs", read.get(0).toString());
+        assertEquals(LocalDateTime.of(2024, 4, 1, 0, 0), read.get(1).getDate());
+        assertEquals("a / b", read.get(2).getDescription());
+    }
+
+    @Test
+    public void testIcsFromOtherApps() throws IOException {
+        Files.write(Paths.get(ICS_PATH), ("BEGIN:VCALENDAR\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:Team\r\n  lunch\\, Friday\r\n"
+                + "DTSTART:20240301T040000Z\r\n"
+                + "BEGIN:VALARM\r\nSUMMARY:alarm\r\nEND:VALARM\r\n"
+                + "END:VEVENT\r\n"
+                + "BEGIN:VTODO\r\nSUMMARY:file taxes\r\nDUE;VALUE=DATE:20240415\r\nSTATUS:COMPLETED\r\nEND:VTODO\r\n"
+                + "BEGIN:VTODO\r\nDUE:20240415\r\nEND:VTODO\r\n"
+                + "END:VCALENDAR\r\n").getBytes(StandardCharsets.UTF_8));
+        ArrayList<Task> read = new ArrayList<>();
+        List<String> errors = new IcsTaskFormat().read(ICS_PATH, read);
+        assertEquals(List.of("Line 15: VTODO has no SUMMARY"), errors);
+        assertEquals(2, read.size());
+        Event lunch = (Event) read.get(0);
+        assertEquals("Team lunch, Friday", lunch.getDescription());
+        LocalDateTime local = LocalDateTime.ofInstant(
+                LocalDateTime.of(2024, 3, 1, 4, 0).toInstant(ZoneOffset.UTC), ZoneId.systemDefault());
+        assertEquals(local, lunch.getFromDate());
+        assertEquals("[D][X] file taxes (by: 2024-04-15T00:00)", read.get(1).toString());
+    }
+
+    @Test
+    public void testLargeImportIsReadInOrderAcrossChunks() throws IOException {
+        StringBuilder csv = new StringBuilder("type,description,done\n");
+        for (int i = 0; i < 100_000; i++) {
+            String description = i % 1000 == 0 ? "\"task " + i + ",\nwrapped\"" : "task " + i;
+            csv.append("todo,").append(description).append(',').append(i % 2).append('\n');
+        }
+        Files.write(Paths.get(CSV_PATH), csv.toString().getBytes(StandardCharsets.UTF_8));
+        ArrayList<Task> read = new ArrayList<>();
+        assertTrue(new CsvTaskFormat().read(CSV_PATH, read).isEmpty());
+        assertEquals(100_000, read.size());
+        for (int i = 0; i < read.size(); i += 997) {
+            assertTrue(read.get(i).getDescription().startsWith("task " + i), read.get(i).getDescription());
+            assertEquals(i % 2 == 1, read.get(i).isDone());
+        }
+    }
+
+    @Test
+    public void testImportIsOneUndoableStep() throws IOException {
+        new AtomicSnapshotWriter(CSV_PATH, new CsvTaskFormat(), false, 0).write(sampleTasks());
+        TaskRepository tasks = new TaskRepository(TEST_FILE_PATH);
+        tasks.add(new Todo("already here"));
+        ResponseController controller = new ResponseController(tasks);
+
+        String response = controller.getResponse("import " + CSV_PATH);
+        assertTrue(response.contains("imported 4 tasks"), response);
+        assertEquals(5, tasks.size());
+        assertEquals(5, tasks.get(4).getId());
+
+        controller.getResponse("undo");
+        assertEquals(1, tasks.size());
+
+        assertTrue(controller.getResponse("export " + ICS_PATH).contains("exported 1 task"));
+        ArrayList<Task> read = new ArrayList<>();
+        new IcsTaskFormat().read(ICS_PATH, read);
+        assertEquals("already here", read.get(0).getDescription());
+    }
+}
@@ -0,0 +1,134 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.ResponseController;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskHistoryTest {
+
+    private static final String TEST_FILE_PATH = "test_history_tasks.txt";
+
+    @BeforeEach
+    public void setUp() {
+        new File(TEST_FILE_PATH).delete();
+        new File(TEST_FILE_PATH + TaskRepository.JOURNAL_SUFFIX).delete();
+    }
+
+    private static List<String> describe(TaskRepository repository) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : repository.getTasks()) {
+            lines.add("#" + task.getId() + " " + task);
+        }
+        return lines;
+    }
+
+    @Test
+    public void testUndoAndRedoEachKindOfChange() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        repository.add(new Todo("Read book"));
+        repository.add(new Todo("Water plants"));
+        repository.add(new Todo("Buy milk"));
+        List<String> added = describe(repository);
+        repository.markDoneById(2);
+        List<String> marked = describe(repository);
+        repository.removeById(1);
+        repository.removeAll(List.of(repository.getById(3)));
+        assertEquals(1, repository.size());
+
+        assertEquals("deleting [T][ ] Buy milk", repository.undo());
+        repository.undo();
+        assertEquals(marked, describe(repository));
+        assertEquals(0, repository.indexOfId(1));
+        assertEquals(1, repository.find(List.of("read")).size());
+        repository.undo();
+        assertEquals(added, describe(repository));
+
+        repository.redo();
+        assertEquals(marked, describe(repository));
+        repository.undo();
+        repository.undo();
+        repository.undo();
+        repository.undo();
+        assertNull(repository.undo());
+        assertEquals(0, repository.size());
+
+        // A new change forgets what could be redone, and ids of undone tasks are not given out again
+        repository.add(new Todo("Fresh start"));
+        assertNull(repository.redo());
+        assertEquals(4, repository.get(0).getId());
+    }
+
+    @Test
+    public void testMarkingATaskAsItAlreadyIsIsNotAStep() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH, true);
+        repository.add(new Todo("Read book"));
+        repository.markDoneById(1);
+        File journal = new File(TEST_FILE_PATH + TaskRepository.JOURNAL_SUFFIX);
+        long journalLength = journal.length();
+
+        assertTrue(repository.markDoneById(1).isDone());
+        assertEquals(2, repository.getUndoCount());
+        assertEquals(journalLength, journal.length());
+        assertTrue(repository.undo().startsWith("marking "));
+        assertFalse(repository.getById(1).isDone());
+    }
+
+    @Test
+    public void testThousandsOfStepsAcrossRepacking() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        for (int i = 0; i < 900; i++) {
+            repository.add(new Todo("Task " + i));
+        }
+        List<String> full = describe(repository);
+        // Deleting most of the list packs its slots
+        repository.removeAll(new ArrayList<>(repository.getTasks().subList(0, 800)));
+        for (int i = 0; i < 50; i++) {
+            repository.removeById(repository.get(0).getId());
+        }
+        assertEquals(50, repository.size());
+
+        for (int i = 0; i < 51; i++) {
+            repository.undo();
+        }
+        assertEquals(full, describe(repository));
+        assertEquals(899, repository.indexOfId(900));
+        for (int i = 0; i < 900; i++) {
+            repository.undo();
+        }
+        assertEquals(0, repository.size());
+        for (int i = 0; i < 951; i++) {
+            repository.redo();
+        }
+        assertEquals(50, repository.size());
+        assertEquals(851, repository.get(0).getId());
+        assertEquals(0, repository.getRedoCount());
+    }
+
+    @Test
+    public void testUndoIsSavedInJournaledMode() {
+        ResponseController controller = new ResponseController(TEST_FILE_PATH);
+        controller.getResponse("todo Read book");
+        controller.getResponse("todo Water plants");
+        controller.getResponse("delete 1");
+        controller.getResponse("mark 1");
+        assertEquals("OK, I've undone 2 changes.", controller.getResponse("undo 2"));
+        controller.getResponse("bye");
+
+        TaskRepository reloaded = new TaskRepository(TEST_FILE_PATH, true);
+        assertEquals(2, reloaded.size());
+        assertEquals("Read book", reloaded.get(0).getDescription());
+        assertFalse(reloaded.get(1).isDone());
+    }
+}
@@ -0,0 +1,170 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.ResponseController;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Deadline;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskJournalTest {
+
+    private static final String TEST_FILE_PATH = "test_journal_tasks.txt";
+    private static final String JOURNAL_PATH = TEST_FILE_PATH + TaskRepository.JOURNAL_SUFFIX;
+    private static final File MISSING_FOLDER = new File("test_journal_folder");
+
+    @BeforeEach
+    public void setUp() {
+        // Delete the snapshot and journal left over from earlier tests
+        new File(TEST_FILE_PATH).delete();
+        new File(JOURNAL_PATH).delete();
+        File[] leftOver = MISSING_FOLDER.listFiles();
+        for (File file : leftOver == null ? new File[0] : leftOver) {
+            file.delete();
+        }
+        MISSING_FOLDER.delete();
+    }
+
+    @Test
+    public void testChangesAreReplayedFromJournal() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH, true);
+        repository.add(new Todo("First"));
+        repository.add(new Deadline("Second", LocalDateTime.parse("2023-10-23T14:30")));
+        repository.add(new Todo("Third"));
+        repository.markDone(1);
+        repository.remove(0);
+        repository.save();
+
+        // Nothing was written to the snapshot, only to the journal
+        assertFalse(new File(TEST_FILE_PATH).exists());
+        assertTrue(new File(JOURNAL_PATH).exists());
+
+        TaskRepository recovered = new TaskRepository(TEST_FILE_PATH, true);
+        assertEquals(2, recovered.size());
+        assertEquals("D | 1 | Second | 2023-10-23T14:30", recovered.get(0).toFileString());
+        assertEquals("T | 0 | Third", recovered.get(1).toFileString());
+    }
+
+    @Test
+    public void testCompactFoldsJournalIntoSnapshot() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH, true);
+        repository.add(new Todo("First"));
+        repository.add(new Todo("Second"));
+        repository.compact();
+
+        assertTrue(new File(TEST_FILE_PATH).exists());
+        assertFalse(new File(JOURNAL_PATH).exists());
+
+        repository.markDone(1);
+        TaskRepository recovered = new TaskRepository(TEST_FILE_PATH, true);
+        assertEquals(2, recovered.size());
+        assertTrue(recovered.get(1).isDone());
+    }
+
+    @Test
+    public void testJournalOlderThanSnapshotIsNotReplayedTwice() throws Exception {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH, true);
+        repository.add(new Todo("First"));
+
+        // Pretend we crashed after writing the snapshot but before clearing the journal
+        File staleJournal = new File(JOURNAL_PATH + ".copy");
+        Files.copy(new File(JOURNAL_PATH).toPath(), staleJournal.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        repository.compact();
+        Files.move(staleJournal.toPath(), new File(JOURNAL_PATH).toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        TaskRepository recovered = new TaskRepository(TEST_FILE_PATH, true);
+        assertEquals(1, recovered.size());
+    }
+
+    @Test
+    public void testBulkChangesAreReplayedFromJournal() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH, true);
+        for (int i = 1; i <= 6; i++) {
+            repository.add(new Todo("Task " + i));
+        }
+        assertEquals(3, repository.markAll(List.of(repository.get(0), repository.get(2), repository.get(4)), true));
+        assertEquals(0, repository.markAll(List.of(repository.get(0)), true));
+        assertEquals(2, repository.removeAll(List.of(repository.get(0), repository.get(1))));
+        repository.save();
+
+        TaskRepository recovered = new TaskRepository(TEST_FILE_PATH, true);
+        assertEquals(4, recovered.size());
+        assertEquals("#3 Task 3 done", describe(recovered.get(0)));
+        assertEquals("#4 Task 4 not done", describe(recovered.get(1)));
+        assertEquals("#5 Task 5 done", describe(recovered.get(2)));
+    }
+
+    @Test
+    public void testHalfWrittenRecordIsSkipped() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH, true);
+        repository.add(new Todo("First"));
+        repository.save();
+        Files.writeString(new File(JOURNAL_PATH).toPath(), "A #2 | D | 0 | x | 2023-10-2" + System.lineSeparator()
+                + "A #3 | E | 0 | y | 2023-10-2" + System.lineSeparator(), StandardOpenOption.APPEND);
+
+        TaskRepository recovered = new TaskRepository(TEST_FILE_PATH, true);
+        assertEquals(1, recovered.size());
+        assertEquals("First", recovered.get(0).getDescription());
+    }
+
+    @Test
+    public void testDeferredRecordsDoNotLookLikeOutsideChanges() {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH, true);
+        ResponseController controller = new ResponseController(repository);
+        // Well over 8 KB of records, held back until the next save
+        for (int i = 1; i <= 300; i++) {
+            controller.getResponse("todo a task with a fairly long description, number " + i);
+            assertFalse(repository.isChangedOnDisk());
+        }
+        assertEquals(300, repository.getUndoCount());
+        assertTrue(controller.getResponse("undo 300").contains("undone 300 changes"));
+    }
+
+    @Test
+    public void testFailedJournalWriteIsReportedAndTriedAgain() throws IOException {
+        String path = new File(MISSING_FOLDER, "tasks.txt").getPath();
+        ResponseController controller = new ResponseController(new TaskRepository(path, true));
+        controller.setWaitForSave(true);
+
+        // The folder is not there, so the journal cannot be written
+        assertTrue(controller.getResponse("todo read book").contains("couldn't save"));
+        MISSING_FOLDER.mkdir();
+        assertFalse(controller.getResponse("todo return book").contains("OOPS"));
+
+        TaskRepository recovered = new TaskRepository(path, true);
+        assertEquals(2, recovered.size());
+        assertEquals("read book", recovered.get(0).getDescription());
+    }
+
+    @Test
+    public void testChangesThatCouldNotBeJournaledAreKeptForTheNextSave() throws IOException {
+        String path = new File(MISSING_FOLDER, "tasks.txt").getPath();
+        TaskRepository repository = new TaskRepository(path, true);
+        repository.add(new Todo("First"));
+        assertThrows(IOException.class, () -> repository.addAll(List.of(new Todo("Second"))));
+        assertThrows(IOException.class, repository::save);
+
+        MISSING_FOLDER.mkdir();
+        repository.save();
+        TaskRepository recovered = new TaskRepository(path, true);
+        assertEquals(2, recovered.size());
+        assertEquals("Second", recovered.get(1).getDescription());
+    }
+
+    private static String describe(Task task) {
+        return "#" + task.getId() + " " + task.getDescription() + (task.isDone() ? " done" : " not done");
+    }
+}
@@ -0,0 +1,141 @@
+package Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.ResponseController;
+import URBOI_PACKIN.Storage.TaskRepository;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskRepositoryTest {
+
+    private static final String TEST_FILE_PATH = "test_repository_tasks.txt";
+
+    @BeforeEach
+    public void setUp() {
+        // Start every test from an empty file
+        File file = new File(TEST_FILE_PATH);
+        if (file.exists()) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testReadsDoNotWaitForAChangeOrSave() throws Exception {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        repository.add(new Todo("read book"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // Holding the repository's lock stands in for a save() that is busy writing to disk
+        synchronized (repository) {
+            Future<List<Task>> found = executor.submit(() -> {
+                repository.isChangedOnDisk();
+                repository.getOverdueTasks(LocalDateTime.now());
+                return repository.find(List.of("book"));
+            });
+            assertEquals(1, found.get(5, TimeUnit.SECONDS).size());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSaveDoesNotTriggerReload() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        repository.add(new Todo("Test Todo Task"));
+        repository.save();
+
+        // Our own write should not look like an outside change
+        assertFalse(repository.refreshIfChanged());
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    public void testRefreshPicksUpOutsideChanges() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        repository.add(new Todo("Test Todo Task"));
+        repository.save();
+
+        // Another program appends a task to the file
+        FileWriter fileWriter = new FileWriter(TEST_FILE_PATH, true);
+        fileWriter.write("T | 1 | Added Elsewhere" + System.lineSeparator());
+        fileWriter.close();
+
+        assertTrue(repository.refreshIfChanged());
+        assertEquals(2, repository.size());
+        assertEquals("Added Elsewhere", repository.get(1).getDescription());
+        assertTrue(repository.get(1).isDone());
+    }
+
+    @Test
+    public void testIdsSurviveDeletesAndReloads() throws IOException {
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        repository.add(new Todo("First"));
+        repository.add(new Todo("Second"));
+        repository.add(new Todo("Third"));
+        repository.remove(0);
+        repository.save();
+
+        TaskRepository reloaded = new TaskRepository(TEST_FILE_PATH);
+        assertEquals(2, reloaded.getById(2).getId());
+        assertEquals(1, reloaded.indexOfId(3));
+        assertEquals(null, reloaded.getById(1));
+
+        // A new task never reuses the id of a deleted one
+        reloaded.add(new Todo("Fourth"));
+        assertEquals(4, reloaded.get(2).getId());
+        assertEquals("Third", reloaded.markDoneById(3).getDescription());
+    }
+
+    @Test
+    public void testConcurrentCommandsLoseNoChanges() throws Exception {
+        final int threads = 32;
+        final int perThread = 25;
+        TaskRepository repository = new TaskRepository(TEST_FILE_PATH);
+        for (int i = 0; i < threads * perThread; i++) {
+            repository.add(new Todo("Old " + i));
+        }
+        ResponseController controller = new ResponseController(repository);
+        controller.setAutoSave(false);
+
+        // Every thread marks its own share of the old tasks and adds new ones, while listing and searching
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            results.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    int id = thread * perThread + i + 1;
+                    assertTrue(controller.getResponse("mark #" + id).startsWith("Nice!"));
+                    controller.getResponse("todo New " + thread + "-" + i);
+                    assertFalse(controller.getResponse("list done").startsWith("☹"));
+                    assertFalse(controller.getResponse("find New").startsWith("☹"));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+
+        assertEquals(2 * threads * perThread, repository.size());
+        for (Task task : repository.getTasks()) {
+            assertEquals(task.getDescription().startsWith("Old"), task.isDone());
+        }
+        // Ids were handed out one at a time, so no two new tasks share one
+        assertEquals(2 * threads * perThread, repository.get(repository.size() - 1).getId());
+    }
+}
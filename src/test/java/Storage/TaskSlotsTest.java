@@ -0,0 +1,79 @@
+package Storage;
+import org.junit.jupiter.api.Test;
+import URBOI_PACKIN.Storage.TaskSlots;
+import URBOI_PACKIN.Task;
+import URBOI_PACKIN.TaskTypes.Todo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskSlotsTest {
+
+    @Test
+    public void testPositionsMatchAnArrayListAfterDeletes() {
+        TaskSlots slots = new TaskSlots();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Todo("Task " + i);
+            slots.add(task);
+            expected.add(task);
+        }
+        // Delete enough tasks, from the front and the middle, that the slots get packed a few times
+        for (int i = 0; i < 700; i++) {
+            int index = (i * 7) % expected.size();
+            assertEquals(expected.remove(index), slots.remove(index));
+        }
+        slots.publish();
+        assertEquals(expected, slots.asList());
+        for (int i = 0; i < expected.size(); i++) {
+            Task task = expected.get(i);
+            assertEquals(task, slots.getById(task.getId()));
+            assertEquals(i, slots.indexOfId(task.getId()));
+        }
+    }
+
+    @Test
+    public void testPublishedListDoesNotSeeLaterChanges() {
+        TaskSlots slots = new TaskSlots();
+        for (int i = 0; i < 100; i++) {
+            slots.add(new Todo("Task " + i));
+        }
+        slots.publish();
+        List<Task> before = slots.asList();
+        slots.remove(0);
+        slots.replace(slots.get(0).withDone(true));
+        slots.add(new Todo("Task 100"));
+        assertEquals(100, before.size());
+        assertEquals("Task 0", before.get(0).getDescription());
+        assertFalse(before.get(1).isDone());
+        assertEquals(100, slots.asList().size());
+        slots.publish();
+        assertEquals("Task 1", slots.asList().get(0).getDescription());
+        assertTrue(slots.asList().get(0).isDone());
+    }
+
+    @Test
+    public void testIdsAreGivenInOrderAndNeverReused() {
+        TaskSlots slots = new TaskSlots();
+        Task first = new Todo("First");
+        slots.add(first);
+        slots.removeById(first.getId());
+        Task second = new Todo("Second");
+        slots.add(second);
+
+        assertEquals(1, first.getId());
+        assertEquals(2, second.getId());
+        assertNull(slots.getById(1));
+        assertEquals(-1, slots.indexOfId(1));
+
+        Task stale = new Todo("Stale");
+        stale.setId(2);
+        assertThrows(IllegalArgumentException.class, () -> slots.add(stale));
+    }
+}
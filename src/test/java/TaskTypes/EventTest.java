@@ -3,7 +3,10 @@ import URBOI_PACKIN.TaskTypes.Event;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 public class EventTest {
     private Event event;
 
@@ -32,4 +35,17 @@ public class EventTest {
         // Check the toString method for an Event task
         assertEquals("[E][ ] Sample Event (from: 2023-10-23 1400 to: 2023-10-23 1600)", event.toString());
     }
+
+    @Test
+    public void testEventDatesInEveryFormat() {
+        LocalDateTime twoPm = LocalDateTime.of(2023, 10, 23, 14, 0);
+        String[] formats = {"23/10/2023 1400", "23/10/2023 14:00", "2023-10-23 1400", "2023-10-23 14:00",
+            "2023-10-23T14:00"};
+        for (String from : formats) {
+            assertEquals(twoPm, new Event("Sample Event", from, "23/10/2023").getFromDate());
+        }
+        assertEquals(LocalDateTime.of(2023, 10, 23, 0, 0), new Event("Sample Event", "2023-10-23", "x").getFromDate());
+        assertNull(new Event("Sample Event", "23/10/2023 2pm", "Mon").getFromDate());
+        assertNull(new Event("Sample Event", "Mon", "2023-10-23 2pm").getToDate());
+    }
 }
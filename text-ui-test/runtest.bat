@@ -6,19 +6,21 @@ SET "PATH=%JAVA_HOME%\bin;%PATH%"
 REM create bin directory if it doesn't exist
 if not exist ..\bin mkdir ..\bin
 
-REM delete output from previous run
+REM delete output and tasks from previous run
 del ACTUAL.TXT
+del ..\bin\tasks.txt
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -encoding UTF-8 -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM compile everything except the JavaFX GUI into the bin folder
+dir /s /b ..\src\main\java\*.java | findstr /v /i "\\UI\\ \\Main.java \\Launcher.java" > sources.txt
+javac -encoding UTF-8 -Xlint:none -d ..\bin @sources.txt
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
 )
 REM no error here, errorlevel == 0
 
-REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin URBOI_PACKIN.ResponseController < input.txt > ACTUAL.TXT
+REM run the commands in input.txt against a fresh task file and redirect the output to ACTUAL.TXT
+java -classpath ..\bin URBOI_PACKIN.BatchRunner --file ..\bin\tasks.txt input.txt > ACTUAL.TXT
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
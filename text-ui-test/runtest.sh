@@ -6,28 +6,29 @@ then
     mkdir ../bin
 fi
 
-# delete output from previous run
+# delete output and tasks from previous run
 if [ -e "./ACTUAL.TXT" ]
 then
-    rm ACTUAL.TXT.TXT
+    rm ACTUAL.TXT
 fi
+rm -f ../bin/tasks.txt
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# compile everything except the JavaFX GUI into the bin folder, terminates if error occurred
+if ! javac -encoding UTF-8 -Xlint:none -d ../bin $(find ../src/main/java -name '*.java' -not -path '*/UI/*' -not -name Main.java -not -name Launcher.java)
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
-# run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT.TXT
-java -classpath ../bin Duke < input.txt > ACTUAL.TXT.TXT
+# run the commands in input.txt against a fresh task file and redirect the output to ACTUAL.TXT
+java -classpath ../bin URBOI_PACKIN.BatchRunner --file ../bin/tasks.txt input.txt > ACTUAL.TXT
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT
-dos2unix ACTUAL.TXT.TXT EXPECTED-UNIX.TXT
+dos2unix ACTUAL.TXT EXPECTED-UNIX.TXT
 
 # compare the output to the expected output
-diff ACTUAL.TXT.TXT EXPECTED-UNIX.TXT
+diff ACTUAL.TXT EXPECTED-UNIX.TXT
 if [ $? -eq 0 ]
 then
     echo "Test result: PASSED"
@@ -35,4 +36,4 @@ then
 else
     echo "Test result: FAILED"
     exit 1
-fi
\ No newline at end of file
+fi